@@ -0,0 +1,375 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * PositionalList that keeps its elements in one Object[] and the links in two
+ * parallel int[] arrays, so there is no node object per element. Slot 0 is the
+ * sentinel: next[0] is the first slot and prev[0] the last. Removed slots are
+ * chained through next into a free list and reused by later adds.
+ * A Position is an (index, generation) pair. Removing a slot bumps its generation,
+ * so a handle to a removed element stays invalid even after its slot is reused.
+ */
+public class ArrayPositionalList<E> implements PositionalList<E>
+{
+    private static class Slot<E> implements Position<E> {
+
+        private final ArrayPositionalList<E> list;
+        private final int index;
+        private final int generation;
+
+        Slot(ArrayPositionalList<E> list, int index, int generation) {
+            this.list = list;
+            this.index = index;
+            this.generation = generation;
+        }
+
+        public E getElement() throws IllegalStateException {
+            if (list.generations[index] != generation)
+                throw new IllegalStateException("Position no longer valid");
+            return list.element(index);
+        }
+    }
+
+    public static final int CAPACITY = 16;
+
+    private Object[] elements;
+    private int[] prev;
+    private int[] next;
+    private int[] generations;
+
+    private int free = -1;      // head of the free list, -1 when empty
+    private int used = 1;       // slots ever handed out, including the sentinel
+    private int size = 0;
+
+    public ArrayPositionalList() { this(CAPACITY); }
+
+    public ArrayPositionalList(int capacity) throws IllegalArgumentException
+    {
+        if (capacity < 0 || capacity > Integer.MAX_VALUE - 9)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        elements = new Object[capacity + 1];
+        prev = new int[capacity + 1];
+        next = new int[capacity + 1];
+        generations = new int[capacity + 1];
+    }
+
+    private E element(int i) { return (E) elements[i]; }
+
+    private int validate(Position<E> p) throws IllegalArgumentException {
+        if ( !(p instanceof Slot) ) throw new IllegalArgumentException("Invalid p");
+        Slot<E> slot = (Slot<E>) p;
+        if (slot.list != this) throw new IllegalArgumentException("p does not belong to this list");
+        if (generations[slot.index] != slot.generation)
+            throw new IllegalArgumentException("p is no longer in the list");
+        return slot.index;
+    }
+
+    private Position<E> position(int i) {
+        if (i == 0) return null;
+        return new Slot<>(this, i, generations[i]);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public Position<E> first() { return position(next[0]); }
+
+    public Position<E> last() { return position(prev[0]); }
+
+    public Position<E> before(Position<E> p) throws IllegalArgumentException {
+        return position(prev[validate(p)]);
+    }
+
+    public Position<E> after(Position<E> p) throws IllegalArgumentException {
+        return position(next[validate(p)]);
+    }
+
+    // O(1) amortized, O(n) when the arrays double
+    private Position<E> addBetween(E e, int pred, int succ)
+    {
+        int i;
+        if (free >= 0) {
+            i = free;
+            free = next[i];
+        }
+        else {
+            if (used == elements.length) grow();
+            i = used++;
+        }
+        elements[i] = e;
+        prev[i] = pred;
+        next[i] = succ;
+        next[pred] = i;
+        prev[succ] = i;
+        size++;
+        return new Slot<>(this, i, generations[i]);
+    }
+
+    // O(n), doubles all four arrays; slot indices do not move, so positions stay valid
+    private void grow()
+    {
+        int length = (int) Math.min(Integer.MAX_VALUE - 8L, 2L * elements.length + 1);
+        if (length == elements.length) throw new IllegalStateException("List is full");
+        elements = Arrays.copyOf(elements, length);
+        prev = Arrays.copyOf(prev, length);
+        next = Arrays.copyOf(next, length);
+        generations = Arrays.copyOf(generations, length);
+    }
+
+    public Position<E> addFirst(E e) { return addBetween(e, 0, next[0]); }
+
+    public Position<E> addLast(E e) { return addBetween(e, prev[0], 0); }
+
+    public Position<E> addBefore(Position<E> p, E e) throws IllegalArgumentException
+    {
+        int i = validate(p);
+        return addBetween(e, prev[i], i);
+    }
+
+    public Position<E> addAfter(Position<E> p, E e) throws IllegalArgumentException
+    {
+        int i = validate(p);
+        return addBetween(e, i, next[i]);
+    }
+
+    public E set(Position<E> p, E e) throws IllegalArgumentException
+    {
+        int i = validate(p);
+        E answer = element(i);
+        elements[i] = e;
+        return answer;
+    }
+
+    public E remove(Position<E> p) throws IllegalArgumentException
+    {
+        int i = validate(p);
+        next[prev[i]] = next[i];
+        prev[next[i]] = prev[i];
+        size--;
+        E answer = element(i);
+        elements[i] = null;
+        generations[i]++;
+        prev[i] = -1;
+        next[i] = free;
+        free = i;
+        return answer;
+    }
+
+    /**
+     * Bottom-up natural merge sort over the next links, as in LinkedPositionalList.sort.
+     * Elements stay in their slots, so every Position keeps pointing at its element.
+     * Stable. O(n log r) for r ascending runs, so O(n) on sorted input.
+     */
+    public void sort(Comparator<? super E> c)
+    {
+        if (size < 2) return;
+
+        // while sorting, the slots form a chain hanging off the sentinel and ending in -1
+        next[prev[0]] = -1;
+
+        int runs;
+        do {
+            int walk = next[0];
+            int tail = 0;
+            runs = 0;
+            while (walk != -1)
+            {
+                int a = walk;
+                int aEnd = runEnd(a, c);
+                int b = next[aEnd];
+                next[aEnd] = -1;
+                runs++;
+                if (b == -1) {
+                    next[tail] = a;
+                    break;
+                }
+                int bEnd = runEnd(b, c);
+                walk = next[bEnd];
+                next[bEnd] = -1;
+                tail = mergeRuns(a, b, tail, c);
+            }
+        } while (runs > 1);
+
+        // restore the prev links and close the ring at the sentinel
+        int pred = 0;
+        for (int walk = next[0]; walk != -1; walk = next[walk])
+        {
+            prev[walk] = pred;
+            pred = walk;
+        }
+        next[pred] = 0;
+        prev[0] = pred;
+    }
+
+    // O(run length), last slot of the non-descending run starting at i
+    private int runEnd(int i, Comparator<? super E> c)
+    {
+        while (next[i] != -1 && c.compare(element(next[i]), element(i)) >= 0)
+            i = next[i];
+        return i;
+    }
+
+    // O(|a| + |b|), appends the merge of two -1-terminated runs after tail and returns the new tail
+    private int mergeRuns(int a, int b, int tail, Comparator<? super E> c)
+    {
+        while (a != -1 && b != -1)
+        {
+            if (c.compare(element(b), element(a)) < 0) {
+                next[tail] = b;
+                b = next[b];
+            }
+            else {
+                next[tail] = a;
+                a = next[a];
+            }
+            tail = next[tail];
+        }
+        next[tail] = (a != -1) ? a : b;
+        while (next[tail] != -1)
+            tail = next[tail];
+        return tail;
+    }
+
+    private class PositionIterator implements Iterator<Position<E>> {
+
+        private int cursor = next[0];
+
+        private Position<E> recent = null;
+
+        public boolean hasNext() { return cursor != 0; }
+
+        public Position<E> next() throws NoSuchElementException
+        {
+            if (cursor == 0) throw new NoSuchElementException("nothing left");
+            recent = position(cursor);
+            cursor = next[cursor];
+            return recent;
+        }
+
+        public void remove() throws IllegalStateException
+        {
+            if (recent == null) throw new IllegalStateException("nothing to remove");
+            ArrayPositionalList.this.remove(recent);
+            recent = null;
+        }
+    }
+
+    private class PositionIterable implements Iterable<Position<E>> {
+        public Iterator<Position<E>> iterator() { return new PositionIterator(); }
+    }
+
+    public Iterable<Position<E>> positions() {
+        return new PositionIterable();
+    }
+
+    // walks the link arrays directly, without creating a Position per element
+    private class ElementIterator implements Iterator<E>
+    {
+        private int cursor = next[0];
+        private int recent = -1;
+
+        public boolean hasNext() { return cursor != 0; }
+
+        public E next() throws NoSuchElementException
+        {
+            if (cursor == 0) throw new NoSuchElementException("nothing left");
+            recent = cursor;
+            cursor = next[cursor];
+            return element(recent);
+        }
+
+        public void remove() throws IllegalStateException
+        {
+            if (recent == -1) throw new IllegalStateException("nothing to remove");
+            ArrayPositionalList.this.remove(new Slot<>(ArrayPositionalList.this, recent, generations[recent]));
+            recent = -1;
+        }
+    }
+
+    public Iterator<E> iterator() { return new ElementIterator(); }
+
+    // SIZED and SUBSIZED, splits by copying batches of elements into arrays as it walks the links
+    public Spliterator<E> spliterator() { return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED); }
+
+    public Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
+
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("(");
+        for (int walk = next[0]; walk != 0; walk = next[walk])
+        {
+            sb.append(elements[walk]);
+            if (next[walk] != 0)
+                sb.append(", ");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    public static void main(String[] args)
+    {
+        ArrayPositionalList<Integer> small = new ArrayPositionalList<>();
+        Position<Integer> five = null;
+        for (int i = 9; i >= 0; i--) {
+            Position<Integer> p = small.addLast(i * 7 % 10);
+            if (i == 5) five = p;
+        }
+        System.out.println(small);
+        small.sort(Comparator.naturalOrder());
+        System.out.println(small + ", still valid: " + five.getElement() + " before " + small.after(five).getElement());
+
+        small.remove(five);
+        small.addFirst(-1);     // reuses the removed slot
+        try {
+            five.getElement();
+        }
+        catch (IllegalStateException e) {
+            System.out.println("Stale position rejected after its slot was reused: " + small);
+        }
+
+        int n = 1_000_000;
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) values[i] = i;
+
+        long before = BenchmarkSuite.usedMemory();
+        LinkedPositionalList<Integer> linked = new LinkedPositionalList<>();
+        for (Integer value : values) linked.addLast(value);
+        long linkedBytes = BenchmarkSuite.usedMemory() - before;
+
+        before = BenchmarkSuite.usedMemory();
+        ArrayPositionalList<Integer> arrays = new ArrayPositionalList<>(n);
+        for (Integer value : values) arrays.addLast(value);
+        long arrayBytes = BenchmarkSuite.usedMemory() - before;
+
+        // a pooled list also keeps each node's handle
+        before = BenchmarkSuite.usedMemory();
+        LinkedPositionalList<Integer> pooled = new LinkedPositionalList<>(1024);
+        for (Integer value : values) pooled.addLast(value);
+        long pooledBytes = BenchmarkSuite.usedMemory() - before;
+
+        System.out.println("LinkedPositionalList bytes per element: " + linkedBytes / n);
+        System.out.println("  pooled:                               " + pooledBytes / n);
+        System.out.println("ArrayPositionalList bytes per element:  " + arrayBytes / n);
+
+        long startTime = System.nanoTime();
+        long linkedSum = 0;
+        for (Integer value : linked) linkedSum += value;
+        long linkedTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        long arraySum = 0;
+        for (Integer value : arrays) arraySum += value;
+        long arrayTime = System.nanoTime() - startTime;
+
+        System.out.println("LinkedPositionalList traversal: " + linkedTime);
+        System.out.println("ArrayPositionalList traversal:  " + arrayTime);
+        System.out.println("Same sum: " + (linkedSum == arraySum));
+    }
+}
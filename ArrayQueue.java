@@ -1,4 +1,8 @@
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 interface Queue<E> {
     int size();
@@ -10,9 +14,9 @@ interface Queue<E> {
 
 public class ArrayQueue<E> implements Queue<E>, Iterable<E>
 {
-    private class BinaryDirectionalIterator<E> implements TwoDirectionalIterator<E>
+    private class BinaryDirectionalIterator implements TwoDirectionalIterator<E>
     {
-        int j = 0;
+        int j = 0;      // the cursor sits before the j-th element from the front
 
         // O(1)
         public boolean hasNext() { return j < size(); }
@@ -21,39 +25,150 @@ public class ArrayQueue<E> implements Queue<E>, Iterable<E>
         public E next()
         {
             if (j == size()) throw new NoSuchElementException();
-            return (E) values[ (f+j++) % values.length ];
+            return values[ (f+j++) & mask ];
         }
 
         // O(1)
-        public boolean hasPrevious() { return j==0; }
+        public boolean hasPrevious() { return j > 0; }
 
         // O(1), no loops
         public E previous() throws IllegalStateException
         {
             if( !hasPrevious() ) throw new IllegalStateException();
-            return (E) values[ (f+j-1) % values.length ];
+            return values[ (f + --j) & mask ];
+        }
+
+        // O(1)
+        public E peek()
+        {
+            if (j == size()) throw new NoSuchElementException();
+            return values[ (f+j) & mask ];
+        }
+
+        // O(1), no loops
+        public int skip(int n)
+        {
+            int k = Math.max(0, Math.min(n, size() - j));
+            j += k;
+            return k;
+        }
+
+        // O(1), no loops
+        public int skipBack(int n)
+        {
+            int k = Math.max(0, Math.min(n, j));
+            j -= k;
+            return k;
+        }
+
+        // O(k), walks the at most two contiguous pieces of the ring without masking each index
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            int start = (f + j) & mask;
+            int remaining = size() - j;
+            int firstPart = Math.min(remaining, values.length - start);
+            for (int k = start; k < start + firstPart; k++)
+                action.accept(values[k]);
+            for (int k = 0; k < remaining - firstPart; k++)
+                action.accept(values[k]);
+            j = size();
         }
     }
 
+    // covers the elements lo..hi-1 counted from the front, and splits that range in half
+    private class RingSpliterator implements Spliterator<E>
+    {
+        private int lo;
+        private final int hi;
+
+        RingSpliterator(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        // O(1)
+        public boolean tryAdvance(Consumer<? super E> action)
+        {
+            if (lo >= hi) return false;
+            action.accept(values[ (f+lo++) & mask ]);
+            return true;
+        }
+
+        // O(k)
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            for (; lo < hi; lo++)
+                action.accept(values[ (f+lo) & mask ]);
+        }
+
+        // O(1), hands off the first half of the range
+        public Spliterator<E> trySplit()
+        {
+            int mid = (lo + hi) >>> 1;
+            if (mid <= lo) return null;
+            Spliterator<E> prefix = new RingSpliterator(lo, mid);
+            lo = mid;
+            return prefix;
+        }
+
+        public long estimateSize() { return hi - lo; }
+
+        public int characteristics() { return ORDERED | SIZED | SUBSIZED; }
+    }
+
     public static final int CAPACITY = 1000;
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    // the backing array length is always a power of two so indices wrap with a mask instead of %
     private E[] values;
+    private int mask;
     private int f = 0;
     private int sz = 0;
+
+    private final int limit;            // most elements the queue may hold
+    private final boolean growable;
+    private final int minLength;        // a growable queue never shrinks below its initial array
+    private final double lowWaterMark;  // shrink when fewer than lowWaterMark * values.length are left, 0 never shrinks
+
     public ArrayQueue() {this(CAPACITY);}
 
-    public ArrayQueue(int capacity) {
-        values = (E[]) new Object[capacity];
+    // fixed capacity, enqueue throws once it is reached
+    public ArrayQueue(int capacity) { this(capacity, false, 0); }
+
+    // growable doubles the array when it is full instead of throwing
+    public ArrayQueue(int capacity, boolean growable) { this(capacity, growable, 0); }
+
+    /**
+     * A growable queue with a positive lowWaterMark also halves its array when a
+     * dequeue leaves it less than lowWaterMark full, so a burst does not pin memory.
+     * lowWaterMark must be below 0.5, so a halved array is never full.
+     */
+    public ArrayQueue(int capacity, boolean growable, double lowWaterMark) throws IllegalArgumentException
+    {
+        if (capacity < 1 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (lowWaterMark < 0 || lowWaterMark >= 0.5)
+            throw new IllegalArgumentException("Illegal low-water mark: " + lowWaterMark);
+
+        int length = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        values = (E[]) new Object[length];
+        mask = length - 1;
+        this.limit = growable ? MAX_CAPACITY : capacity;
+        this.growable = growable;
+        this.minLength = length;
+        this.lowWaterMark = growable ? lowWaterMark : 0;
     }
 
     public int size() { return sz; }
 
     public boolean isEmpty() { return (sz == 0); }
 
+    // O(1) amortized, O(n) when a growable queue doubles its array
     public void enqueue(E e) throws IllegalStateException
     {
-        if (sz == values.length) throw new IllegalStateException("Queue is full");
-        int avail = (f + sz) % values.length;
-        values[avail] = e;
+        if (sz == limit) throw new IllegalStateException("Queue is full");
+        if (sz == values.length) resize(values.length << 1);
+        values[(f + sz) & mask] = e;
         sz++;
     }
 
@@ -62,16 +177,37 @@ public class ArrayQueue<E> implements Queue<E>, Iterable<E>
         return values[f];
     }
 
+    // O(1) amortized, O(n) when a shrinking queue halves its array
     public E dequeue() {
         if (isEmpty()) return null;
 
         E answer = values[f];
         values[f] = null;
-        f = (f + 1) % values.length;
+        f = (f + 1) & mask;
         sz--;
+        if (sz < lowWaterMark * values.length && values.length > minLength)
+            resize(values.length >> 1);
         return answer;
     }
 
+    // O(n), copies the ring unwrapped into a new array starting at index 0
+    private void resize(int length)
+    {
+        E[] old = values;
+        values = (E[]) new Object[length];
+        int firstPart = Math.min(sz, old.length - f);
+        System.arraycopy(old, f, values, 0, firstPart);
+        System.arraycopy(old, 0, values, firstPart, sz - firstPart);
+        f = 0;
+        mask = length - 1;
+    }
+
+    // O(1), most elements the queue may hold, MAX_CAPACITY when it is growable
+    public int capacity() { return limit; }
+
+    // O(1), length of the backing array, the requested capacity rounded up to a power of two
+    public int arrayLength() { return values.length; }
+
     public String toString() {
         StringBuilder sb = new StringBuilder("(");
         int k = f;
@@ -80,15 +216,19 @@ public class ArrayQueue<E> implements Queue<E>, Iterable<E>
             if (j > 0)
                 sb.append(", ");
             sb.append(values[k]);
-            k = (k + 1) % values.length;
+            k = (k + 1) & mask;
         }
         sb.append(")");
         return sb.toString();
     }
 
+    public Spliterator<E> spliterator() { return new RingSpliterator(0, sz); }
+
+    public Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
+
     public TwoDirectionalIterator<E> iterator()
     {
-        return new BinaryDirectionalIterator<>();
+        return new BinaryDirectionalIterator();
     }
 
     public static void main(String[] args)
@@ -100,5 +240,24 @@ public class ArrayQueue<E> implements Queue<E>, Iterable<E>
 
         for(Integer integer : queueue)
             System.out.println(integer);
+
+        // windowed look-back: jump to the 10th element, then read the three before it backwards
+        TwoDirectionalIterator<Integer> cursor = queueue.iterator();
+        cursor.skip(10);
+        System.out.print("At " + cursor.peek() + ", looking back:");
+        for (int k = 0; k < 3 && cursor.hasPrevious(); k++)
+            System.out.print(" " + cursor.previous());
+        System.out.println();
+
+        System.out.println("Parallel sum: " + queueue.stream().parallel().mapToLong(Integer::longValue).sum());
+
+        ArrayQueue<Integer> growing = new ArrayQueue<>(16, true, 0.25);
+        for (int i = 0; i < 5000; i++)
+            growing.enqueue(i);
+        System.out.println(growing.size() + " elements in an array of " + growing.arrayLength());
+
+        while (growing.size() > 10)
+            growing.dequeue();
+        System.out.println(growing.size() + " elements in an array of " + growing.arrayLength() + ": " + growing);
     }
 }
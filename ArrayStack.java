@@ -0,0 +1,222 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/*
+ * Array-backed stacks. The array doubles when it is full, so push is O(1)
+ * amortized and nothing is allocated per element. IntStack, LongStack and
+ * DoubleStack keep their values unboxed.
+ */
+
+class IntStack {
+    private int[] values;
+    private int size = 0;
+
+    public IntStack() { this(ArrayStack.CAPACITY); }
+
+    public IntStack(int capacity) { values = new int[Math.max(1, capacity)]; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(1) amortized
+    public void push(int e) {
+        if (size == values.length) values = Arrays.copyOf(values, ArrayStack.grow(values.length));
+        values[size++] = e;
+    }
+
+    // O(1)
+    public int top() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[size - 1];
+    }
+
+    // O(1)
+    public int pop() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[--size];
+    }
+
+    public void clear() { size = 0; }
+}
+
+class LongStack {
+    private long[] values;
+    private int size = 0;
+
+    public LongStack() { this(ArrayStack.CAPACITY); }
+
+    public LongStack(int capacity) { values = new long[Math.max(1, capacity)]; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(1) amortized
+    public void push(long e) {
+        if (size == values.length) values = Arrays.copyOf(values, ArrayStack.grow(values.length));
+        values[size++] = e;
+    }
+
+    // O(1)
+    public long top() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[size - 1];
+    }
+
+    // O(1)
+    public long pop() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[--size];
+    }
+
+    public void clear() { size = 0; }
+}
+
+class DoubleStack {
+    private double[] values;
+    private int size = 0;
+
+    public DoubleStack() { this(ArrayStack.CAPACITY); }
+
+    public DoubleStack(int capacity) { values = new double[Math.max(1, capacity)]; }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(1) amortized
+    public void push(double e) {
+        if (size == values.length) values = Arrays.copyOf(values, ArrayStack.grow(values.length));
+        values[size++] = e;
+    }
+
+    // O(1)
+    public double top() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[size - 1];
+    }
+
+    // O(1)
+    public double pop() throws IllegalStateException {
+        if (isEmpty()) throw new IllegalStateException("Stack is empty");
+        return values[--size];
+    }
+
+    public void clear() { size = 0; }
+}
+
+public class ArrayStack<E> implements Stack<E>, Iterable<E>
+{
+    public static final int CAPACITY = 16;
+
+    private class ArrayStackIterator implements Iterator<E> {
+        private int j = size;
+
+        // O(1)
+        public boolean hasNext() { return j > 0; }
+
+        // O(1), from the top down like LinkedStack
+        public E next()
+        {
+            if ( !hasNext() ) throw new NoSuchElementException("no such element");
+            return values[--j];
+        }
+    }
+
+    private E[] values;
+    private int size = 0;
+
+    public ArrayStack() { this(CAPACITY); }
+
+    public ArrayStack(int capacity) { values = (E[]) new Object[Math.max(1, capacity)]; }
+
+    // O(1), double the length, capped at the largest array the VM allows
+    static int grow(int length) throws IllegalStateException
+    {
+        if (length == Integer.MAX_VALUE - 8) throw new IllegalStateException("Stack is full");
+        return (int) Math.min((long) length * 2, Integer.MAX_VALUE - 8);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(1) amortized
+    public void push(E e)
+    {
+        if (size == values.length) values = Arrays.copyOf(values, grow(values.length));
+        values[size++] = e;
+    }
+
+    // O(1)
+    public E top()
+    {
+        if (isEmpty()) return null;
+        return values[size - 1];
+    }
+
+    // O(1)
+    public E pop()
+    {
+        if (isEmpty()) return null;
+        E answer = values[--size];
+        values[size] = null;
+        return answer;
+    }
+
+    public Iterator<E> iterator() { return new ArrayStackIterator(); }
+
+    // SIZED and SUBSIZED, from the top down like the iterator
+    public Spliterator<E> spliterator() { return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED); }
+
+    // O(n), evaluates a postfix expression of ints without boxing a single value
+    static int evaluate(String postfix, IntStack stack)
+    {
+        stack.clear();
+        for (String token : postfix.trim().split("\\s+"))
+        {
+            switch (token) {
+                case "+": stack.push(stack.pop() + stack.pop()); break;
+                case "*": stack.push(stack.pop() * stack.pop()); break;
+                case "-": { int b = stack.pop(); stack.push(stack.pop() - b); break; }
+                case "/": { int b = stack.pop(); stack.push(stack.pop() / b); break; }
+                default: stack.push(Integer.parseInt(token));
+            }
+        }
+        return stack.pop();
+    }
+
+    public static void main(String[] args)
+    {
+        ArrayStack<Integer> stack = new ArrayStack<>();
+        for (int i = 0; i < 10; i++) stack.push(5*i+3);
+        for (Integer e : stack) System.out.print(e + " ");
+        System.out.println();
+
+        IntStack ints = new IntStack();
+        System.out.println("3 4 + 2 * 7 - = " + evaluate("3 4 + 2 * 7 -", ints));
+
+        int n = 10_000_000;
+        for (int round = 0; round < 3; round++)
+        {
+            LinkedStack<Integer> linked = new LinkedStack<>();
+            long startTime = System.nanoTime();
+            long linkedSum = 0;
+            for (int i = 0; i < n; i++) linked.push(i);
+            while (!linked.isEmpty()) linkedSum += linked.pop();
+            long linkedTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            long intSum = 0;
+            for (int i = 0; i < n; i++) ints.push(i);
+            while (!ints.isEmpty()) intSum += ints.pop();
+            long intTime = System.nanoTime() - startTime;
+
+            System.out.println("LinkedStack: " + linkedTime + "  IntStack: " + intTime + "  same sum: " + (linkedSum == intSum));
+        }
+    }
+}
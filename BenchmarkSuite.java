@@ -0,0 +1,304 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Repeatable micro-benchmarks for the data structures. Each case is built fresh
+ * outside the timed region, run for a number of warm-up iterations so the JIT has
+ * compiled it, then measured over several iterations. Reports time and bytes
+ * allocated per operation, one CSV line per case, so runs can be diffed in CI.
+ *
+ * Allocation is read from the measuring thread only, so work done on other
+ * threads (the parallel sort's pool) is not counted.
+ *
+ * The cases themselves are built by prepare, which the JMH suite in jmh/ also calls.
+ *
+ * Usage: java BenchmarkSuite [name-filter]
+ */
+public class BenchmarkSuite
+{
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // results are folded in here so the JIT cannot drop the measured work
+    static volatile long sink;
+
+    private static final String[] SORTS = {"mergeSort", "mergeSortInPlace", "parallelMergeSort", "adaptiveSort", "sortByInt"};
+    private static final String[] DISTRIBUTIONS = {"random", "sorted", "reversed", "nearly sorted"};
+    private static final String[] LISTS = {"ArrayList", "LinkedList", "IndexableSkipList"};
+    private static final String[] QUEUES = {"ArrayQueue fixed", "ArrayQueue growable", "IntArrayQueue"};
+    private static final String[] STACKS = {"LinkedStack", "ArrayStack", "IntStack", "ConcurrentLinkedStack"};
+
+    private final String filter;
+
+    BenchmarkSuite(String filter) { this.filter = filter; }
+
+    void measure(String name, String params, int size)
+    {
+        if (!name.contains(filter)) return;
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            prepare(name, params, size).getAsLong();
+
+        double[] nanos = new double[MEASURED_ITERATIONS];
+        double bytes = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++)
+        {
+            LongSupplier c = prepare(name, params, size);
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long startTime = System.nanoTime();
+            long ops = c.getAsLong();
+            long elapsed = System.nanoTime() - startTime;
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocated;
+            nanos[i] = (double) elapsed / ops;
+            bytes += (double) allocated / ops;
+        }
+
+        Arrays.sort(nanos);
+        double mean = Arrays.stream(nanos).average().orElse(0);
+        System.out.printf("%s,%s,%d,%.2f,%.2f,%.2f%n", name, params, size,
+                          mean, nanos[0], bytes / MEASURED_ITERATIONS);
+    }
+
+    /**
+     * A freshly built case, shared with the JMH suite in jmh/. Calling it runs the timed
+     * part once and returns the number of operations it performed. Every case leaves its
+     * structure as it found it, so it can be called any number of times: the queue and
+     * stack cases drain what they add, and a sort case first puts the unsorted values back.
+     */
+    public static LongSupplier prepare(String name, String params, int size) throws IllegalArgumentException
+    {
+        if (name.startsWith("sort.")) return sortCase(name, params, size);
+        if (name.startsWith("list.")) return listCase(name, params, size);
+        if (name.startsWith("queue.")) return queueCase(name, params, size);
+        if (name.startsWith("stack.")) return stackCase(name, params, size);
+        throw new IllegalArgumentException("Unknown case: " + name);
+    }
+
+    private static LongSupplier sortCase(String name, String distribution, int n)
+    {
+        PositionalMergeSort<Integer> sorter = new PositionalMergeSort<>();
+        Integer[] values = Arrays.stream(PositionalSortBenchmark.values(distribution, n, new Random(42)))
+                                 .boxed().toArray(Integer[]::new);
+        LinkedPositionalList<Integer> list = new LinkedPositionalList<>();
+        for (Integer value : values) list.addLast(value);
+
+        Consumer<LinkedPositionalList<Integer>> sort;
+        switch (name) {
+            case "sort.mergeSort": sort = sorter::mergeSort; break;
+            case "sort.mergeSortInPlace": sort = sorter::mergeSortInPlace; break;
+            case "sort.parallelMergeSort": sort = sorter::parallelMergeSort; break;
+            case "sort.adaptiveSort": sort = sorter::adaptiveSort; break;
+            case "sort.sortByInt": sort = S -> PositionalMergeSort.sortByInt(S, Integer::intValue); break;
+            default: throw new IllegalArgumentException("Unknown case: " + name);
+        }
+        return () -> {
+            // O(n) and allocation free, so it adds the same small cost to every sort
+            int k = 0;
+            for (Position<Integer> p = list.first(); p != null; p = list.after(p))
+                list.set(p, values[k++]);
+            sort.accept(list);
+            return n;
+        };
+    }
+
+    private static List<Integer> filled(List<Integer> list, int n)
+    {
+        for (int i = 0; i < n; i++)
+            list.add(list.size(), i);
+        return list;
+    }
+
+    private static LongSupplier listCase(String name, String impl, int n)
+    {
+        int ops = 1_000;
+        List<Integer> list;
+        switch (impl) {
+            case "ArrayList": list = arrayList(); break;
+            case "LinkedList": list = new LinkedList<>(); break;
+            case "IndexableSkipList": list = new IndexableSkipList<>(); break;
+            default: throw new IllegalArgumentException("Unknown list: " + impl);
+        }
+        filled(list, n);
+        Random random = new Random(7);
+
+        switch (name) {
+            case "list.getSequential":
+                return () -> {
+                    long sum = 0;
+                    for (int i = 0; i < n; i++) sum += list.get(i);
+                    sink += sum;
+                    return n;
+                };
+            case "list.getRandom":
+                return () -> {
+                    long sum = 0;
+                    for (int i = 0; i < ops; i++) sum += list.get(random.nextInt(n));
+                    sink += sum;
+                    return ops;
+                };
+            case "list.addRemoveRandom":
+                return () -> {
+                    for (int i = 0; i < ops; i++) {
+                        list.add(random.nextInt(list.size() + 1), i);
+                        sink += list.remove(random.nextInt(list.size()));
+                    }
+                    return 2L * ops;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown case: " + name);
+        }
+    }
+
+    // java.util.ArrayList behind the project's List interface
+    private static List<Integer> arrayList()
+    {
+        ArrayList<Integer> arrayList = new ArrayList<>();
+        return new List<Integer>() {
+            public int size() { return arrayList.size(); }
+            public boolean isEmpty() { return arrayList.isEmpty(); }
+            public Integer get(int i) { return arrayList.get(i); }
+            public Integer set(int i, Integer e) { return arrayList.set(i, e); }
+            public void add(int i, Integer e) { arrayList.add(i, e); }
+            public Integer remove(int i) { return arrayList.remove(i); }
+            public java.util.Iterator<Integer> iterator() { return arrayList.iterator(); }
+        };
+    }
+
+    private static LongSupplier queueCase(String name, String impl, int n)
+    {
+        if (impl.equals("IntArrayQueue")) {
+            if (!name.equals("queue.enqueueDequeue")) throw new IllegalArgumentException("Unknown case: " + name);
+            IntArrayQueue queue = new IntArrayQueue(n);
+            return () -> {
+                for (int i = 0; i < n; i++) queue.enqueue(i);
+                while (!queue.isEmpty()) sink += queue.dequeue();
+                return 2L * n;
+            };
+        }
+
+        ArrayQueue<Integer> queue;
+        switch (impl) {
+            case "ArrayQueue fixed": queue = new ArrayQueue<>(name.equals("queue.steadyState") ? 1024 : n); break;
+            case "ArrayQueue growable": queue = new ArrayQueue<>(16, true, 0.25); break;
+            default: throw new IllegalArgumentException("Unknown queue: " + impl);
+        }
+        switch (name) {
+            case "queue.enqueueDequeue":
+                return () -> {
+                    for (int i = 0; i < n; i++) queue.enqueue(i);
+                    while (!queue.isEmpty()) sink += queue.dequeue();
+                    return 2L * n;
+                };
+            case "queue.steadyState":
+                return () -> {
+                    for (int i = 0; i < n; i++) {
+                        queue.enqueue(i);
+                        sink += queue.dequeue();
+                    }
+                    return 2L * n;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown case: " + name);
+        }
+    }
+
+    private static LongSupplier stackCase(String name, String impl, int n)
+    {
+        if (impl.equals("IntStack")) {
+            if (!name.equals("stack.pushPop")) throw new IllegalArgumentException("Unknown case: " + name);
+            IntStack stack = new IntStack();
+            return () -> {
+                for (int i = 0; i < n; i++) stack.push(i);
+                while (!stack.isEmpty()) sink += stack.pop();
+                return 2L * n;
+            };
+        }
+
+        Stack<Integer> stack;
+        switch (impl) {
+            case "LinkedStack": stack = new LinkedStack<>(); break;
+            case "ArrayStack": stack = new ArrayStack<>(); break;
+            case "ConcurrentLinkedStack": stack = new ConcurrentLinkedStack<>(); break;
+            case "synchronized LinkedStack": stack = StackBenchmark.synchronizedLinkedStack(); break;
+            default: throw new IllegalArgumentException("Unknown stack: " + impl);
+        }
+        switch (name) {
+            case "stack.pushPop":
+                return () -> {
+                    for (int i = 0; i < n; i++) stack.push(i);
+                    while (!stack.isEmpty()) sink += stack.pop();
+                    return 2L * n;
+                };
+            case "stack.sharedPushPop":
+                // n push/pop pairs; safe to call from many threads at once on a thread-safe stack
+                return () -> {
+                    Integer e = n;
+                    for (int i = 0; i < n; i++) {
+                        stack.push(e);
+                        e = stack.pop();
+                    }
+                    return 2L * n;
+                };
+            default:
+                throw new IllegalArgumentException("Unknown case: " + name);
+        }
+    }
+
+    // heap bytes in use after a few full collections, for the demos that compare footprints
+    static long usedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    void sorts()
+    {
+        for (int n : new int[] {1_000, 100_000, 1_000_000})
+            for (String distribution : DISTRIBUTIONS)
+                for (String sort : SORTS)
+                    measure("sort." + sort, distribution, n);
+    }
+
+    void lists()
+    {
+        for (int n : new int[] {1_000, 10_000, 100_000})
+            for (String impl : LISTS)
+                for (String name : new String[] {"list.getSequential", "list.getRandom", "list.addRemoveRandom"})
+                    measure(name, impl, n);
+    }
+
+    void queues()
+    {
+        for (int n : new int[] {1_000, 100_000, 1_000_000})
+        {
+            for (String impl : QUEUES)
+                measure("queue.enqueueDequeue", impl, n);
+            measure("queue.steadyState", "ArrayQueue fixed", n);
+        }
+    }
+
+    void stacks()
+    {
+        for (int n : new int[] {1_000, 100_000, 1_000_000})
+            for (String impl : STACKS)
+                measure("stack.pushPop", impl, n);
+    }
+
+    public static void main(String[] args)
+    {
+        BenchmarkSuite suite = new BenchmarkSuite(args.length > 0 ? args[0] : "");
+        System.out.println("benchmark,params,size,mean ns/op,best ns/op,bytes/op");
+        suite.sorts();
+        suite.lists();
+        suite.queues();
+        suite.stacks();
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free stack (Treiber's stack). push and pop swing an atomic head with a CAS.
+ * When a CAS fails, the thread tries an elimination array before retrying: a push
+ * parks its node in a random slot for a short while, and a pop that finds a parked
+ * node takes it, so a push and a pop that collide cancel out without touching head.
+ *
+ * Nodes never change once published, so an iterator walks the stack as it was when
+ * the iterator was created.
+ */
+public class ConcurrentLinkedStack<E> implements Stack<E>, Iterable<E>
+{
+    private static class Node<E> {
+        private final E element;
+        private final Node<E> next;
+        public Node(E e, Node<E> n) {
+            element = e;
+            next = n;
+        }
+        public E getElement() { return element; }
+        public Node<E> getNext() { return next; }
+    }
+
+    private static final int ELIMINATION_SLOTS =
+            Integer.highestOneBit(Math.max(1, Math.min(16, Runtime.getRuntime().availableProcessors())));
+    private static final int ELIMINATION_SPINS = 128;
+
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+    private final LongAdder size = new LongAdder();
+    private final AtomicReferenceArray<Node<E>> elimination = new AtomicReferenceArray<>(ELIMINATION_SLOTS);
+
+    // O(cores), a snapshot while other threads are running
+    public int size() { return (int) Math.max(0, size.sum()); }
+
+    public boolean isEmpty() { return head.get() == null; }
+
+    // O(1) without contention
+    public void push(E e)
+    {
+        while (true)
+        {
+            Node<E> top = head.get();
+            Node<E> newest = new Node<>(e, top);
+            if (head.compareAndSet(top, newest) || eliminatePush(newest)) {
+                size.increment();
+                return;
+            }
+        }
+    }
+
+    // O(1)
+    public E top()
+    {
+        Node<E> top = head.get();
+        return (top == null) ? null : top.getElement();
+    }
+
+    // O(1) without contention, null when the stack is empty
+    public E pop()
+    {
+        while (true)
+        {
+            Node<E> top = head.get();
+            if (top == null) return null;
+            if (head.compareAndSet(top, top.getNext())) {
+                size.decrement();
+                return top.getElement();
+            }
+            Node<E> other = eliminatePop();
+            if (other != null) {
+                size.decrement();
+                return other.getElement();
+            }
+        }
+    }
+
+    // parks node in a random slot, true when a pop took it before the wait ran out
+    private boolean eliminatePush(Node<E> node)
+    {
+        int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        if (!elimination.compareAndSet(slot, null, node)) return false;
+        for (int spin = 0; spin < ELIMINATION_SPINS; spin++)
+        {
+            if (elimination.get(slot) != node) return true;
+            Thread.onSpinWait();
+        }
+        // a failed withdrawal means a pop took the node in the meantime
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    // takes a node parked by a concurrent push from a random slot, or null
+    private Node<E> eliminatePop()
+    {
+        int slot = ThreadLocalRandom.current().nextInt(ELIMINATION_SLOTS);
+        Node<E> node = elimination.get(slot);
+        if (node != null && elimination.compareAndSet(slot, node, null))
+            return node;
+        return null;
+    }
+
+    private class SnapshotIterator implements Iterator<E>
+    {
+        private Node<E> current = head.get();
+
+        // O(1)
+        public boolean hasNext() { return current != null; }
+
+        // O(1)
+        public E next()
+        {
+            if (current == null) throw new NoSuchElementException("no such element");
+            E element = current.getElement();
+            current = current.getNext();
+            return element;
+        }
+    }
+
+    public Iterator<E> iterator() { return new SnapshotIterator(); }
+
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("(");
+        for (Iterator<E> it = iterator(); it.hasNext(); )
+        {
+            sb.append(it.next());
+            if (it.hasNext())
+                sb.append(", ");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        ConcurrentLinkedStack<Integer> stack = new ConcurrentLinkedStack<>();
+        int threads = 8, perThread = 100_000;
+        long[] popped = new long[threads];
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                long sum = 0;
+                for (int i = 0; i < perThread; i++)
+                {
+                    stack.push(id * perThread + i);
+                    Integer value = stack.pop();
+                    if (value != null) sum += value;
+                }
+                popped[id] = sum;
+            });
+        }
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+
+        long n = (long) threads * perThread, sum = 0;
+        for (long s : popped) sum += s;
+        for (Integer left : stack) sum += left;
+        System.out.println("Sum: " + sum + ", expected: " + n * (n - 1) / 2 + ", left: " + stack.size());
+    }
+}
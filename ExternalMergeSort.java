@@ -0,0 +1,345 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Consumer;
+
+// turns elements into bytes for the run files; decode must copy whatever it keeps from src
+interface ElementCodec<E> {
+    int size(E e);                          // bytes encode will write for e
+    void encode(E e, ByteBuffer dst);
+    E decode(ByteBuffer src);               // src holds exactly the bytes encode wrote
+}
+
+/**
+ * Sorts more elements than fit in memory. The input is cut into chunks that fit in
+ * the memory budget, each chunk is sorted in a LinkedPositionalList with its in-place
+ * natural merge sort and spilled to a temporary run file, and the runs are merged
+ * back with a k-way heap merge. When there are more runs than the budget has room for
+ * read buffers, groups of runs are first merged into longer runs. Input that fits
+ * in one chunk is never written out. Stable. Not thread-safe.
+ *
+ * A run file is a sequence of records, each an int length followed by the codec's bytes.
+ */
+public class ExternalMergeSort<E>
+{
+    public static final long DEFAULT_BUDGET = 64L << 20;
+    public static final int MIN_BUFFER = 8 << 10;
+    private static final int MAX_BUFFER = 1 << 20;
+    private static final int ELEMENT_OVERHEAD = 48;     // estimated heap bytes per element beyond its encoding
+
+    public static final ElementCodec<Integer> INTEGERS = new ElementCodec<>() {
+        public int size(Integer e) { return Integer.BYTES; }
+        public void encode(Integer e, ByteBuffer dst) { dst.putInt(e); }
+        public Integer decode(ByteBuffer src) { return src.getInt(); }
+    };
+
+    public static final ElementCodec<Long> LONGS = new ElementCodec<>() {
+        public int size(Long e) { return Long.BYTES; }
+        public void encode(Long e, ByteBuffer dst) { dst.putLong(e); }
+        public Long decode(ByteBuffer src) { return src.getLong(); }
+    };
+
+    public static final ElementCodec<String> STRINGS = new ElementCodec<>() {
+        public int size(String e) { return e.getBytes(StandardCharsets.UTF_8).length; }
+        public void encode(String e, ByteBuffer dst) { dst.put(e.getBytes(StandardCharsets.UTF_8)); }
+        public String decode(ByteBuffer src) { return StandardCharsets.UTF_8.decode(src).toString(); }
+    };
+
+    private final ElementCodec<E> codec;
+    private final Comparator<? super E> c;
+    private final long budget;
+    private final Path directory;
+    private final int bufferSize;       // the write buffer, and the most a chunk leaves for I/O
+
+    private int runCount = 0;
+
+    public ExternalMergeSort(ElementCodec<E> codec, Comparator<? super E> c) {
+        this(codec, c, DEFAULT_BUDGET, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * memoryBudget bounds, in bytes, the chunk held while sorting and the read buffers
+     * held while merging. Chunk sizes are estimated from the codec's sizes plus a fixed
+     * per-element overhead. Run files are created in directory and deleted when the sort ends.
+     */
+    public ExternalMergeSort(ElementCodec<E> codec, Comparator<? super E> c, long memoryBudget, Path directory)
+            throws IllegalArgumentException
+    {
+        if (memoryBudget < 4L * MIN_BUFFER)
+            throw new IllegalArgumentException("Memory budget must be at least " + 4 * MIN_BUFFER + " bytes");
+        this.codec = codec;
+        this.c = c;
+        this.budget = memoryBudget;
+        this.directory = directory;
+        this.bufferSize = (int) Math.max(MIN_BUFFER, Math.min(MAX_BUFFER, memoryBudget / 16));
+    }
+
+    // runs written by the last sort, intermediate merges included; 0 when it fit in memory
+    public int runCount() { return runCount; }
+
+    // O(n log n) comparisons, O(n log_k r) bytes written for r runs merged k at a time
+    public void sort(Iterator<? extends E> input, Consumer<? super E> sink) throws IOException
+    {
+        ArrayList<Path> files = new ArrayList<>();      // every run created, deleted at the end
+        runCount = 0;
+        try {
+            ArrayList<Path> runs = new ArrayList<>();
+            LinkedPositionalList<E> chunk = new LinkedPositionalList<>();
+            long chunkBytes = 0;
+            while (input.hasNext())
+            {
+                E e = input.next();
+                chunk.addLast(e);
+                chunkBytes += Integer.BYTES + codec.size(e) + ELEMENT_OVERHEAD;
+                if (chunkBytes >= budget - bufferSize && input.hasNext()) {
+                    chunk.sort(c);
+                    runs.add(spill(chunk.iterator(), files));
+                    chunk = new LinkedPositionalList<>();
+                    chunkBytes = 0;
+                }
+            }
+            chunk.sort(c);
+            if (runs.isEmpty()) {
+                for (E e : chunk) sink.accept(e);
+                return;
+            }
+            runs.add(spill(chunk.iterator(), files));
+            chunk = null;
+
+            // each pass merges consecutive groups, so earlier input stays in earlier runs
+            int fanIn = (int) Math.max(2, budget / bufferSize - 1);
+            while (runs.size() > fanIn)
+            {
+                ArrayList<Path> next = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn)
+                {
+                    java.util.List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        next.add(group.get(0));
+                        continue;
+                    }
+                    RunWriter writer = new RunWriter(newRun(files));
+                    try {
+                        merge(group, budget / (fanIn + 1), e -> {
+                            try {
+                                writer.write(e);
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        });
+                    } catch (UncheckedIOException ex) {
+                        throw ex.getCause();
+                    } finally {
+                        writer.close();
+                    }
+                    next.add(writer.path);
+                    for (Path run : group) Files.deleteIfExists(run);
+                }
+                runs = next;
+            }
+            merge(runs, budget / (runs.size() + 1), sink);
+        } finally {
+            for (Path file : files) Files.deleteIfExists(file);
+        }
+    }
+
+    // the sorted input as a new list
+    public LinkedPositionalList<E> sort(Iterator<? extends E> input) throws IOException
+    {
+        LinkedPositionalList<E> answer = new LinkedPositionalList<>();
+        sort(input, answer::addLast);
+        return answer;
+    }
+
+    /**
+     * Sorts S by draining it into runs and refilling it, so S's own nodes are freed as the
+     * chunks are spilled. The old positions of S are no longer valid afterwards.
+     */
+    public void sort(LinkedPositionalList<E> S) throws IOException
+    {
+        Iterator<E> drain = new Iterator<E>() {
+            public boolean hasNext() { return !S.isEmpty(); }
+            public E next() {
+                if (S.isEmpty()) throw new NoSuchElementException("nothing left");
+                return S.remove(S.first());
+            }
+        };
+        sort(drain, S::addLast);
+    }
+
+    private Path newRun(ArrayList<Path> files) throws IOException
+    {
+        Path run = Files.createTempFile(directory, "run", ".tmp");
+        files.add(run);
+        return run;
+    }
+
+    private Path spill(Iterator<E> sorted, ArrayList<Path> files) throws IOException
+    {
+        RunWriter writer = new RunWriter(newRun(files));
+        try {
+            while (sorted.hasNext())
+                writer.write(sorted.next());
+        } finally {
+            writer.close();
+        }
+        return writer.path;
+    }
+
+    // O(n log k), streams the merge of the runs to sink; ties go to the earlier run, which keeps the sort stable
+    private void merge(java.util.List<Path> runs, long bytesPerRun, Consumer<? super E> sink) throws IOException
+    {
+        int readBuffer = (int) Math.max(MIN_BUFFER, Math.min(MAX_BUFFER, bytesPerRun));
+        PriorityQueue<RunReader> heap = new PriorityQueue<>(runs.size(), (a, b) -> {
+            int order = c.compare(a.head, b.head);
+            return (order != 0) ? order : Integer.compare(a.index, b.index);
+        });
+        ArrayList<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run, readers.size(), readBuffer);
+                readers.add(reader);
+                if (reader.advance()) heap.add(reader);
+            }
+            while (!heap.isEmpty())
+            {
+                RunReader smallest = heap.poll();
+                sink.accept(smallest.head);
+                if (smallest.advance()) heap.add(smallest);
+            }
+        } finally {
+            for (RunReader reader : readers) reader.channel.close();
+        }
+    }
+
+    private class RunWriter
+    {
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+
+        RunWriter(Path path) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            runCount++;
+        }
+
+        // O(size of e), records too big for the buffer get a buffer of their own
+        void write(E e) throws IOException, IllegalStateException
+        {
+            int size = codec.size(e);
+            int record = Integer.BYTES + size;
+            if (buffer.remaining() < record) flush();
+            ByteBuffer target = (buffer.remaining() >= record) ? buffer : ByteBuffer.allocate(record);
+            target.putInt(size);
+            int start = target.position();
+            codec.encode(e, target);
+            if (target.position() - start != size)
+                throw new IllegalStateException("Codec wrote " + (target.position() - start) + " bytes, not " + size);
+            if (target != buffer) {
+                target.flip();
+                while (target.hasRemaining()) channel.write(target);
+            }
+        }
+
+        private void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        void close() throws IOException
+        {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private class RunReader
+    {
+        private final FileChannel channel;
+        private final int index;
+        private ByteBuffer buffer;
+        private E head;
+
+        RunReader(Path path, int index, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.index = index;
+            this.buffer = ByteBuffer.allocate(bufferSize).flip();
+        }
+
+        // reads the next record into head, false at the end of the run
+        boolean advance() throws IOException
+        {
+            if (!fill(Integer.BYTES)) {
+                if (buffer.hasRemaining()) throw new EOFException("Truncated run");
+                head = null;
+                return false;
+            }
+            int size = buffer.getInt();
+            if (!fill(size)) throw new EOFException("Truncated run");
+            ByteBuffer record = buffer.slice(buffer.position(), size);
+            buffer.position(buffer.position() + size);
+            head = codec.decode(record);
+            return true;
+        }
+
+        // makes at least n bytes available, growing the buffer for an oversized record
+        private boolean fill(int n) throws IOException
+        {
+            if (buffer.remaining() >= n) return true;
+            if (buffer.capacity() < n)
+                buffer = ByteBuffer.allocate(n).put(buffer);
+            else
+                buffer.compact();
+            while (buffer.position() < n && channel.read(buffer) >= 0) {}
+            buffer.flip();
+            return buffer.remaining() >= n;
+        }
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        int n = 2_000_000;
+        Random random = new Random(42);
+        Iterator<Long> input = random.longs(n, 0, 1_000_000).iterator();
+
+        ExternalMergeSort<Long> sorter = new ExternalMergeSort<>(LONGS, Comparator.naturalOrder(), 8L << 20,
+                Paths.get(System.getProperty("java.io.tmpdir")));
+        long startTime = System.nanoTime();
+        long[] previous = { Long.MIN_VALUE };
+        long[] count = { 0 };
+        boolean[] sorted = { true };
+        sorter.sort(input, e -> {
+            if (e < previous[0]) sorted[0] = false;
+            previous[0] = e;
+            count[0]++;
+        });
+        long elapsed = System.nanoTime() - startTime;
+        System.out.println(count[0] + " longs through " + sorter.runCount() + " runs in " + elapsed / 1_000_000
+                + " ms, sorted: " + sorted[0]);
+
+        LinkedPositionalList<String> words = new LinkedPositionalList<>();
+        for (String word : "the quick brown fox jumps over the lazy dog".split(" "))
+            words.addLast(word);
+        new ExternalMergeSort<>(STRINGS, Comparator.<String>naturalOrder()).sort(words);
+        System.out.println(words);
+    }
+}
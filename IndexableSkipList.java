@@ -0,0 +1,237 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Indexable skip list whose nodes are chunks of up to CHUNK elements.
+ * Every link stores how many elements it skips, so get, set, add and remove
+ * by index find their chunk in O(log n) expected time and then shift at most
+ * CHUNK elements inside it.
+ */
+public class IndexableSkipList<E> implements List<E>
+{
+    private static final int CHUNK = 64;
+    private static final int MAX_LEVEL = 32;
+
+    private static class Node<E> {
+        private final Object[] items;
+        private int count = 0;
+        private final Node<E>[] next;
+        private final int[] width;      // elements between the start of this chunk and the start of next[k]
+
+        public Node(int capacity, int height) {
+            items = new Object[capacity];
+            next = (Node<E>[]) new Node[height];
+            width = new int[height];
+        }
+    }
+
+    // the head holds no elements, a null link leads to the virtual position size
+    private final Node<E> head = new Node<>(0, MAX_LEVEL);
+    private int level = 1;
+    private int size = 0;
+    private final Random random = new Random();
+
+    // search path of the last locate: update[k] is the last node on level k starting at or before the index
+    private final Node<E>[] update = (Node<E>[]) new Node[MAX_LEVEL];
+    private final int[] updatePos = new int[MAX_LEVEL];
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(log n) expected, the chunk holding index i (or the last chunk when i == size)
+    private Node<E> locate(int i)
+    {
+        Node<E> x = head;
+        int pos = 0;
+        for (int k = level - 1; k >= 0; k--)
+        {
+            while (x.next[k] != null && pos + x.width[k] <= i) {
+                pos += x.width[k];
+                x = x.next[k];
+            }
+            update[k] = x;
+            updatePos[k] = pos;
+        }
+        return x;
+    }
+
+    // O(log n) expected
+    public E get(int i) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size);
+        Node<E> x = locate(i);
+        return (E) x.items[i - updatePos[0]];
+    }
+
+    // O(log n) expected
+    public E set(int i, E e) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size);
+        Node<E> x = locate(i);
+        int offset = i - updatePos[0];
+        E answer = (E) x.items[offset];
+        x.items[offset] = e;
+        return answer;
+    }
+
+    // O(log n + CHUNK) expected
+    public void add(int i, E e) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size + 1);
+        Node<E> x = locate(i);
+        int offset = i - updatePos[0];
+
+        if (x == head || x.count == CHUNK) {
+            // appending starts a fresh chunk, anything else splits the full one in half
+            int at = (x == head) ? 0 : (offset == CHUNK) ? CHUNK : CHUNK / 2;
+            split(x, updatePos[0], at);
+            x = locate(i);
+            offset = i - updatePos[0];
+        }
+
+        System.arraycopy(x.items, offset, x.items, offset + 1, x.count - offset);
+        x.items[offset] = e;
+        x.count++;
+        for (int k = 0; k < level; k++)
+            update[k].width[k]++;
+        size++;
+    }
+
+    // O(log n + CHUNK) expected
+    public E remove(int i) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size);
+        Node<E> x = locate(i);
+        int posX = updatePos[0];
+        int offset = i - posX;
+
+        E answer = (E) x.items[offset];
+        System.arraycopy(x.items, offset + 1, x.items, offset, x.count - offset - 1);
+        x.items[--x.count] = null;
+        for (int k = 0; k < level; k++)
+            update[k].width[k]--;
+        size--;
+
+        if (x.count == 0) {
+            unlink(x, posX);
+        }
+        else {
+            // keep chunks at least a quarter full on average by merging small neighbours
+            Node<E> y = x.next[0];
+            if (y != null && x.count + y.count <= CHUNK / 2) {
+                int posY = posX + x.count;
+                System.arraycopy(y.items, 0, x.items, x.count, y.count);
+                x.count += y.count;
+                unlink(y, posY);
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+        return answer;
+    }
+
+    // moves x.items[at, count) into a new chunk linked right after x, using the path of the last locate
+    private void split(Node<E> x, int posX, int at)
+    {
+        int height = randomHeight();
+        Node<E> y = new Node<>(CHUNK, height);
+        y.count = x.count - at;
+        System.arraycopy(x.items, at, y.items, 0, y.count);
+        Arrays.fill(x.items, at, x.count, null);
+        x.count = at;
+        int posY = posX + at;
+
+        for (; level < height; level++)
+        {
+            update[level] = head;
+            updatePos[level] = 0;
+            head.next[level] = null;
+            head.width[level] = size;
+        }
+        for (int k = 0; k < height; k++)
+        {
+            Node<E> p = update[k];
+            y.next[k] = p.next[k];
+            y.width[k] = updatePos[k] + p.width[k] - posY;
+            p.next[k] = y;
+            p.width[k] = posY - updatePos[k];
+        }
+    }
+
+    // O(log n) expected, unlinks y, whose elements are already gone or moved, from every level
+    private void unlink(Node<E> y, int posY)
+    {
+        Node<E> x = head;
+        int pos = 0;
+        for (int k = level - 1; k >= 0; k--)
+        {
+            while (x.next[k] != null && x.next[k] != y && pos + x.width[k] < posY) {
+                pos += x.width[k];
+                x = x.next[k];
+            }
+            if (x.next[k] == y) {
+                x.width[k] += y.width[k];
+                x.next[k] = y.next[k];
+            }
+        }
+    }
+
+    // geometric with p = 1/4
+    private int randomHeight()
+    {
+        int height = 1;
+        while (height < MAX_LEVEL && random.nextInt(4) == 0)
+            height++;
+        return height;
+    }
+
+    private class ChunkIterator implements Iterator<E>
+    {
+        private Node<E> chunk = head.next[0];
+        private int offset = 0;
+
+        // O(1)
+        public boolean hasNext() { return chunk != null; }
+
+        // O(1)
+        public E next()
+        {
+            if (chunk == null) throw new NoSuchElementException("nothing left");
+            E answer = (E) chunk.items[offset++];
+            if (offset == chunk.count) {
+                chunk = chunk.next[0];
+                offset = 0;
+            }
+            return answer;
+        }
+    }
+
+    public Iterator<E> iterator() { return new ChunkIterator(); }
+
+    // SIZED and SUBSIZED, splits by copying batches of elements into arrays
+    public Spliterator<E> spliterator() { return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED); }
+
+    // O(1)
+    protected void checkIndex(int i, int n) throws IndexOutOfBoundsException {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Illegal index: "  + i);
+    }
+
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("(");
+        for (Iterator<E> it = iterator(); it.hasNext(); )
+        {
+            sb.append(it.next());
+            if (it.hasNext())
+                sb.append(", ");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,323 @@
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of non-negative values in the style of HdrHistogram: every
+ * power of two is split into 8 linear buckets, so a recorded value is off by at most
+ * 12.5%. Buckets are LongAdders, so concurrent recording does not contend.
+ */
+class Histogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BITS = 3;
+
+    private final LongAdder[] buckets = new LongAdder[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    // O(1)
+    private static int index(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // O(1), smallest value that falls in bucket i
+    private static long lowest(int i) {
+        if (i < SUB_BUCKETS) return i;
+        int exponent = i / SUB_BUCKETS + SUB_BITS - 1;
+        return (long) (SUB_BUCKETS + i % SUB_BUCKETS) << (exponent - SUB_BITS);
+    }
+
+    // O(1)
+    public void record(long v) {
+        buckets[index(Math.max(0, v))].increment();
+        max.accumulate(v);
+    }
+
+    // O(buckets)
+    public long count() {
+        long total = 0;
+        for (LongAdder bucket : buckets) total += bucket.sum();
+        return total;
+    }
+
+    public long max() { return max.get(); }
+
+    // O(buckets), lower bound of the bucket holding the given percentile, 0 when empty
+    public long percentile(double p) {
+        long total = count();
+        long rank = (long) Math.ceil(total * p / 100);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank && seen > 0) return lowest(i);
+        }
+        return 0;
+    }
+
+    public String toString() {
+        return "count=" + count() + " p50=" + percentile(50) + " p99=" + percentile(99) + " max=" + max();
+    }
+}
+
+/**
+ * Optional metrics for the collections. Each factory wraps a collection in a view that
+ * counts its operations with LongAdders and forwards every call; code that does not
+ * wrap its collections pays nothing. Wrapping a LinkedList also records how many nodes
+ * each indexed access walks.
+ */
+public class Instrumented
+{
+    static class InstrumentedQueue<E> implements Queue<E> {
+        private final Queue<E> queue;
+        final LongAdder enqueues = new LongAdder();
+        final LongAdder dequeues = new LongAdder();
+        final LongAdder peeks = new LongAdder();
+        final LongAccumulator highWaterMark = new LongAccumulator(Math::max, 0);
+
+        InstrumentedQueue(Queue<E> queue) { this.queue = queue; }
+
+        public int size() { return queue.size(); }
+        public boolean isEmpty() { return queue.isEmpty(); }
+
+        public void enqueue(E e) {
+            queue.enqueue(e);
+            enqueues.increment();
+            highWaterMark.accumulate(queue.size());
+        }
+
+        public E first() {
+            peeks.increment();
+            return queue.first();
+        }
+
+        public E dequeue() {
+            dequeues.increment();
+            return queue.dequeue();
+        }
+
+        public String toString() {
+            return "enqueues=" + enqueues.sum() + " dequeues=" + dequeues.sum() + " peeks=" + peeks.sum()
+                    + " highWaterMark=" + highWaterMark.get();
+        }
+    }
+
+    static class InstrumentedStack<E> implements Stack<E> {
+        private final Stack<E> stack;
+        final LongAdder pushes = new LongAdder();
+        final LongAdder pops = new LongAdder();
+        final LongAdder peeks = new LongAdder();
+        final LongAccumulator highWaterMark = new LongAccumulator(Math::max, 0);
+
+        InstrumentedStack(Stack<E> stack) { this.stack = stack; }
+
+        public int size() { return stack.size(); }
+        public boolean isEmpty() { return stack.isEmpty(); }
+
+        public void push(E e) {
+            stack.push(e);
+            pushes.increment();
+            highWaterMark.accumulate(stack.size());
+        }
+
+        public E top() {
+            peeks.increment();
+            return stack.top();
+        }
+
+        public E pop() {
+            pops.increment();
+            return stack.pop();
+        }
+
+        public String toString() {
+            return "pushes=" + pushes.sum() + " pops=" + pops.sum() + " peeks=" + peeks.sum()
+                    + " highWaterMark=" + highWaterMark.get();
+        }
+    }
+
+    static class InstrumentedPositionalList<E> implements PositionalList<E> {
+        private final PositionalList<E> list;
+        final LongAdder navigations = new LongAdder();    // first, last, before, after
+        final LongAdder inserts = new LongAdder();
+        final LongAdder updates = new LongAdder();
+        final LongAdder removes = new LongAdder();
+        final LongAdder iterations = new LongAdder();
+
+        InstrumentedPositionalList(PositionalList<E> list) { this.list = list; }
+
+        public int size() { return list.size(); }
+        public boolean isEmpty() { return list.isEmpty(); }
+
+        public Position<E> first() {
+            navigations.increment();
+            return list.first();
+        }
+
+        public Position<E> last() {
+            navigations.increment();
+            return list.last();
+        }
+
+        public Position<E> before(Position<E> p) throws IllegalArgumentException {
+            navigations.increment();
+            return list.before(p);
+        }
+
+        public Position<E> after(Position<E> p) throws IllegalArgumentException {
+            navigations.increment();
+            return list.after(p);
+        }
+
+        public Position<E> addFirst(E e) {
+            inserts.increment();
+            return list.addFirst(e);
+        }
+
+        public Position<E> addLast(E e) {
+            inserts.increment();
+            return list.addLast(e);
+        }
+
+        public Position<E> addBefore(Position<E> p, E e) throws IllegalArgumentException {
+            inserts.increment();
+            return list.addBefore(p, e);
+        }
+
+        public Position<E> addAfter(Position<E> p, E e) throws IllegalArgumentException {
+            inserts.increment();
+            return list.addAfter(p, e);
+        }
+
+        public E set(Position<E> p, E e) throws IllegalArgumentException {
+            updates.increment();
+            return list.set(p, e);
+        }
+
+        public E remove(Position<E> p) throws IllegalArgumentException {
+            removes.increment();
+            return list.remove(p);
+        }
+
+        public Iterator<E> iterator() {
+            iterations.increment();
+            return list.iterator();
+        }
+
+        public Iterable<Position<E>> positions() {
+            iterations.increment();
+            return list.positions();
+        }
+
+        public String toString() {
+            return "navigations=" + navigations.sum() + " inserts=" + inserts.sum() + " updates=" + updates.sum()
+                    + " removes=" + removes.sum() + " iterations=" + iterations.sum();
+        }
+    }
+
+    static class InstrumentedList<E> implements List<E> {
+        private final List<E> list;
+        final LongAdder gets = new LongAdder();
+        final LongAdder sets = new LongAdder();
+        final LongAdder adds = new LongAdder();
+        final LongAdder removes = new LongAdder();
+        final Histogram traversals = new Histogram();
+
+        InstrumentedList(List<E> list) {
+            this.list = list;
+            if (list instanceof LinkedList)
+                ((LinkedList<E>) list).recordTraversals(traversals);
+        }
+
+        public int size() { return list.size(); }
+        public boolean isEmpty() { return list.isEmpty(); }
+
+        public E get(int i) throws IndexOutOfBoundsException {
+            gets.increment();
+            return list.get(i);
+        }
+
+        public E set(int i, E e) throws IndexOutOfBoundsException {
+            sets.increment();
+            return list.set(i, e);
+        }
+
+        public void add(int i, E e) throws IndexOutOfBoundsException {
+            adds.increment();
+            list.add(i, e);
+        }
+
+        public E remove(int i) throws IndexOutOfBoundsException {
+            removes.increment();
+            return list.remove(i);
+        }
+
+        public Iterator<E> iterator() { return list.iterator(); }
+
+        public String toString() {
+            return "gets=" + gets.sum() + " sets=" + sets.sum() + " adds=" + adds.sum() + " removes=" + removes.sum()
+                    + (traversals.count() > 0 ? " traversals: " + traversals : "");
+        }
+    }
+
+    static class CountingComparator<E> implements Comparator<E> {
+        private final Comparator<? super E> comparator;
+        final LongAdder comparisons = new LongAdder();
+
+        CountingComparator(Comparator<? super E> comparator) { this.comparator = comparator; }
+
+        public int compare(E a, E b) {
+            comparisons.increment();
+            return comparator.compare(a, b);
+        }
+
+        public String toString() { return "comparisons=" + comparisons.sum(); }
+    }
+
+    public static <E> InstrumentedQueue<E> queue(Queue<E> queue) { return new InstrumentedQueue<>(queue); }
+
+    public static <E> InstrumentedStack<E> stack(Stack<E> stack) { return new InstrumentedStack<>(stack); }
+
+    public static <E> InstrumentedPositionalList<E> positionalList(PositionalList<E> list) {
+        return new InstrumentedPositionalList<>(list);
+    }
+
+    // a LinkedList reports its traversal lengths until it is wrapped again
+    public static <E> InstrumentedList<E> list(List<E> list) { return new InstrumentedList<>(list); }
+
+    // pass to PositionalMergeSort's comparator overloads to count the comparisons a sort makes
+    public static <E> CountingComparator<E> comparator(Comparator<? super E> comparator) {
+        return new CountingComparator<>(comparator);
+    }
+
+    public static void main(String[] args)
+    {
+        InstrumentedQueue<Integer> queue = queue(new ArrayQueue<>(16, true));
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(i);
+            if (i % 3 == 0) queue.dequeue();
+        }
+        System.out.println("ArrayQueue:  " + queue);
+
+        InstrumentedList<Integer> list = list(new LinkedList<>());
+        for (int i = 0; i < 10_000; i++) list.add(list.size(), i);
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 1_000; i++) list.get(random.nextInt(list.size()));
+        System.out.println("LinkedList:  " + list);
+
+        LinkedPositionalList<Integer> values = new LinkedPositionalList<>();
+        for (int i = 0; i < 100_000; i++) values.addLast(random.nextInt());
+        CountingComparator<Integer> merge = comparator(Comparator.naturalOrder());
+        PositionalMergeSort.mergeSort(values, merge);
+        CountingComparator<Integer> adaptive = comparator(Comparator.naturalOrder());
+        PositionalMergeSort.adaptiveSort(values, adaptive);
+        System.out.println("mergeSort:   " + merge + ", adaptiveSort on its output: " + adaptive);
+    }
+}
@@ -0,0 +1,228 @@
+import java.util.NoSuchElementException;
+
+/**
+ * The ring arithmetic shared by the unboxed queues: head, size, mask, limit and the
+ * growing and shrinking of ArrayQueue. Subclasses keep only the typed array and move
+ * elements in and out of the slots this class hands them.
+ */
+abstract class PrimitiveArrayQueue
+{
+    // a cursor over the slots, the typed iterators read the slots it returns
+    abstract class SlotCursor
+    {
+        int j = 0;      // the cursor sits before the j-th element from the front
+
+        // O(1)
+        public boolean hasNext() { return j < sz; }
+
+        // O(1)
+        public boolean hasPrevious() { return j > 0; }
+
+        // O(1), the slot of the next element
+        int nextSlot()
+        {
+            if (j == sz) throw new NoSuchElementException();
+            return (f + j++) & mask;
+        }
+
+        // O(1), the slot of the previous element
+        int previousSlot() throws IllegalStateException
+        {
+            if (!hasPrevious()) throw new IllegalStateException();
+            return (f + --j) & mask;
+        }
+
+        // O(1), no loops
+        public int skip(int n)
+        {
+            int k = Math.max(0, Math.min(n, sz - j));
+            j += k;
+            return k;
+        }
+
+        // O(1), no loops
+        public int skipBack(int n)
+        {
+            int k = Math.max(0, Math.min(n, j));
+            j -= k;
+            return k;
+        }
+    }
+
+    int mask;
+    int f = 0;
+    int sz = 0;
+
+    private final int limit;
+    private final int minLength;
+    private final double lowWaterMark;
+
+    // see ArrayQueue(int, boolean, double), the subclass allocates arrayLength() slots
+    PrimitiveArrayQueue(int capacity, boolean growable, double lowWaterMark) throws IllegalArgumentException
+    {
+        if (capacity < 1 || capacity > ArrayQueue.MAX_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        if (lowWaterMark < 0 || lowWaterMark >= 0.5)
+            throw new IllegalArgumentException("Illegal low-water mark: " + lowWaterMark);
+
+        int length = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        mask = length - 1;
+        this.limit = growable ? ArrayQueue.MAX_CAPACITY : capacity;
+        this.minLength = length;
+        this.lowWaterMark = growable ? lowWaterMark : 0;
+    }
+
+    // the backing array, a new one of the given length, and replacing it
+    abstract Object values();
+    abstract Object newValues(int length);
+    abstract void setValues(Object values);
+
+    abstract void append(StringBuilder sb, int slot);
+
+    public int size() { return sz; }
+
+    public boolean isEmpty() { return (sz == 0); }
+
+    // O(1), as in ArrayQueue
+    public int capacity() { return limit; }
+
+    public int arrayLength() { return mask + 1; }
+
+    // O(1) amortized, the slot for a new last element, which is counted from now on
+    int tailSlot() throws IllegalStateException
+    {
+        if (sz == limit) throw new IllegalStateException("Queue is full");
+        if (sz == arrayLength()) resize(arrayLength() << 1);
+        return (f + sz++) & mask;
+    }
+
+    // O(1), the slot of the first element
+    int headSlot() throws IllegalStateException
+    {
+        if (isEmpty()) throw new IllegalStateException("Queue is empty");
+        return f;
+    }
+
+    // O(1) amortized, drops the first element once it has been read from headSlot()
+    void advanceHead()
+    {
+        f = (f + 1) & mask;
+        sz--;
+        if (sz < lowWaterMark * arrayLength() && arrayLength() > minLength)
+            resize(arrayLength() >> 1);
+    }
+
+    // O(n), copies the ring unwrapped into a new array starting at index 0
+    private void resize(int length)
+    {
+        Object old = values();
+        Object values = newValues(length);
+        int firstPart = Math.min(sz, arrayLength() - f);
+        System.arraycopy(old, f, values, 0, firstPart);
+        System.arraycopy(old, 0, values, firstPart, sz - firstPart);
+        setValues(values);
+        f = 0;
+        mask = length - 1;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("(");
+        int k = f;
+        for (int j=0; j < sz; j++)
+        {
+            if (j > 0)
+                sb.append(", ");
+            append(sb, k);
+            k = (k + 1) & mask;
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
+
+/**
+ * ArrayQueue for unboxed ints: the same power-of-two ring, the same fixed or
+ * growable capacity and low-water mark, but 4 bytes per element instead of a
+ * reference to an Integer.
+ */
+public class IntArrayQueue extends PrimitiveArrayQueue implements Iterable<Integer>
+{
+    private class IntDirectionalIterator extends SlotCursor implements IntTwoDirectionalIterator
+    {
+        // O(1), no loops
+        public int nextInt() { return values[nextSlot()]; }
+
+        // O(1), no loops
+        public int previousInt() throws IllegalStateException { return values[previousSlot()]; }
+    }
+
+    private int[] values;
+
+    public IntArrayQueue() { this(ArrayQueue.CAPACITY); }
+
+    public IntArrayQueue(int capacity) { this(capacity, false, 0); }
+
+    public IntArrayQueue(int capacity, boolean growable) { this(capacity, growable, 0); }
+
+    // see ArrayQueue(int, boolean, double)
+    public IntArrayQueue(int capacity, boolean growable, double lowWaterMark) throws IllegalArgumentException
+    {
+        super(capacity, growable, lowWaterMark);
+        values = new int[arrayLength()];
+    }
+
+    Object values() { return values; }
+
+    Object newValues(int length) { return new int[length]; }
+
+    void setValues(Object values) { this.values = (int[]) values; }
+
+    void append(StringBuilder sb, int slot) { sb.append(values[slot]); }
+
+    // O(1) amortized
+    public void enqueue(int e) throws IllegalStateException
+    {
+        int slot = tailSlot();      // may grow the array, so values is read after it
+        values[slot] = e;
+    }
+
+    // O(1)
+    public int first() throws IllegalStateException { return values[headSlot()]; }
+
+    // O(1) amortized
+    public int dequeue() throws IllegalStateException
+    {
+        int answer = values[headSlot()];
+        advanceHead();
+        return answer;
+    }
+
+    public IntTwoDirectionalIterator iterator() { return new IntDirectionalIterator(); }
+
+    public static void main(String[] args)
+    {
+        IntArrayQueue queue = new IntArrayQueue();
+        for (int i = 0; i < 15; i++)
+            queue.enqueue(i*i);
+
+        IntTwoDirectionalIterator it = queue.iterator();
+        long sum = 0;
+        while (it.hasNext()) sum += it.nextInt();
+        while (it.hasPrevious()) sum -= it.previousInt();
+        System.out.println(queue + ", there and back: " + sum);
+
+        int n = 1_000_000;
+        long before = BenchmarkSuite.usedMemory();
+        ArrayQueue<Integer> boxed = new ArrayQueue<>(n);
+        for (int i = 0; i < n; i++) boxed.enqueue(i + 1_000_000);
+        long boxedBytes = BenchmarkSuite.usedMemory() - before;
+
+        before = BenchmarkSuite.usedMemory();
+        IntArrayQueue ints = new IntArrayQueue(n);
+        for (int i = 0; i < n; i++) ints.enqueue(i + 1_000_000);
+        long intBytes = BenchmarkSuite.usedMemory() - before;
+
+        System.out.println("ArrayQueue<Integer> MB: " + boxedBytes / 1_000_000 + ", IntArrayQueue MB: " + intBytes / 1_000_000);
+        System.out.println(boxed.size() + " " + ints.size());
+    }
+}
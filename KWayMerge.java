@@ -0,0 +1,183 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Lazy merge of any number of sorted sources through a loser tree. The k sources are
+ * the leaves k..2k-1 of an implicit binary tree, each internal node 1..k-1 keeps the
+ * source that lost the match played there, and node 0 keeps the overall winner.
+ * Taking an element replays only the path from the winner's leaf to the root, so every
+ * element costs at most ceil(log2 k) comparisons and nothing is buffered beyond one
+ * head per source. Ties go to the earlier source, so the merge is stable.
+ */
+public class KWayMerge<E> implements Iterator<E>
+{
+    private final Iterator<? extends E>[] sources;
+    private final Object[] heads;           // the next element of each source
+    private final boolean[] exhausted;
+    private final int[] tree;               // tree[0] is the winner, tree[1..k-1] the losers
+    private final Comparator<? super E> c;
+
+    // O(k), the sources must each be sorted by c
+    public KWayMerge(java.util.List<? extends Iterator<? extends E>> sources, Comparator<? super E> c)
+    {
+        int k = sources.size();
+        this.sources = sources.toArray(new Iterator[0]);
+        this.heads = new Object[k];
+        this.exhausted = new boolean[k];
+        this.tree = new int[Math.max(k, 1)];
+        this.c = c;
+        if (k == 0) return;
+
+        for (int i = 0; i < k; i++) pull(i);
+
+        // play every match once bottom-up; winner[n] is the source that comes out of node n
+        int[] winner = new int[2 * k];
+        for (int i = 0; i < k; i++) winner[k + i] = i;
+        for (int node = k - 1; node >= 1; node--)
+        {
+            int a = winner[2 * node];
+            int b = winner[2 * node + 1];
+            if (beats(a, b)) {
+                winner[node] = a;
+                tree[node] = b;
+            }
+            else {
+                winner[node] = b;
+                tree[node] = a;
+            }
+        }
+        tree[0] = (k == 1) ? 0 : winner[1];
+    }
+
+    // the merge of sorted Iterables, such as PositionalLists
+    public static <E> KWayMerge<E> of(java.util.List<? extends Iterable<? extends E>> sources, Comparator<? super E> c)
+    {
+        ArrayList<Iterator<? extends E>> iterators = new ArrayList<>(sources.size());
+        for (Iterable<? extends E> source : sources) iterators.add(source.iterator());
+        return new KWayMerge<>(iterators, c);
+    }
+
+    // O(n log k), streams the merge of the sources to sink without materializing it
+    public static <E> void merge(java.util.List<? extends Iterable<? extends E>> sources, Comparator<? super E> c,
+                                 Consumer<? super E> sink)
+    {
+        of(sources, c).forEachRemaining(sink);
+    }
+
+    private void pull(int i)
+    {
+        if (sources[i].hasNext()) {
+            heads[i] = sources[i].next();
+        }
+        else {
+            heads[i] = null;
+            exhausted[i] = true;
+        }
+    }
+
+    // an exhausted source loses to everything, equal heads go to the earlier source
+    private boolean beats(int a, int b)
+    {
+        if (exhausted[a]) return false;
+        if (exhausted[b]) return true;
+        int order = c.compare((E) heads[a], (E) heads[b]);
+        return order < 0 || order == 0 && a < b;
+    }
+
+    // O(1)
+    public boolean hasNext() { return sources.length > 0 && !exhausted[tree[0]]; }
+
+    // O(log k), takes the winner's head and replays its path to the root
+    public E next() throws NoSuchElementException
+    {
+        if (!hasNext()) throw new NoSuchElementException("nothing left");
+        int w = tree[0];
+        E answer = (E) heads[w];
+        pull(w);
+        for (int node = (sources.length + w) >> 1; node >= 1; node >>= 1)
+        {
+            if (beats(tree[node], w)) {
+                int loser = w;
+                w = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = w;
+        return answer;
+    }
+
+    // the sorted shards 0..k-1, with shard i holding i, i+k, i+2k, ...
+    private static java.util.List<LinkedPositionalList<Integer>> shards(int k, int perShard)
+    {
+        ArrayList<LinkedPositionalList<Integer>> shards = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            LinkedPositionalList<Integer> shard = new LinkedPositionalList<>();
+            for (int j = 0; j < perShard; j++) shard.addLast(i + j * k);
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    // the same merge with a binary heap of iterators, for comparison
+    private static long heapMerge(java.util.List<LinkedPositionalList<Integer>> shards)
+    {
+        ArrayList<Iterator<Integer>> iterators = new ArrayList<>();
+        ArrayList<Integer> heads = new ArrayList<>();
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Comparator.comparing(heads::get));
+        for (LinkedPositionalList<Integer> shard : shards) {
+            iterators.add(shard.iterator());
+            heads.add(iterators.get(iterators.size() - 1).next());
+            heap.add(heads.size() - 1);
+        }
+        long sum = 0;
+        while (!heap.isEmpty()) {
+            int i = heap.poll();
+            sum += heads.get(i);
+            if (iterators.get(i).hasNext()) {
+                heads.set(i, iterators.get(i).next());
+                heap.add(i);
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args)
+    {
+        java.util.List<LinkedPositionalList<Integer>> small = shards(4, 5);
+        System.out.println(small);
+        LinkedPositionalList<Integer> merged = new LinkedPositionalList<>();
+        KWayMerge.merge(small, Comparator.naturalOrder(), merged::addLast);
+        System.out.println(merged);
+
+        // the first page only: the rest of the shards is never compared
+        KWayMerge<Integer> page = KWayMerge.of(small, Comparator.naturalOrder());
+        System.out.print("First page:");
+        for (int i = 0; i < 5 && page.hasNext(); i++) System.out.print(" " + page.next());
+        System.out.println();
+
+        for (int k : new int[] { 4, 32, 256 })
+        {
+            java.util.List<LinkedPositionalList<Integer>> shards = shards(k, 2_000_000 / k);
+            for (int warmUp = 0; warmUp < 3; warmUp++) {
+                heapMerge(shards);
+                KWayMerge.of(shards, Comparator.<Integer>naturalOrder()).forEachRemaining(e -> {});
+            }
+
+            long startTime = System.nanoTime();
+            long heapSum = heapMerge(shards);
+            long heapTime = System.nanoTime() - startTime;
+
+            startTime = System.nanoTime();
+            long[] treeSum = { 0 };
+            KWayMerge.of(shards, Comparator.<Integer>naturalOrder()).forEachRemaining(e -> treeSum[0] += e);
+            long treeTime = System.nanoTime() - startTime;
+
+            System.out.printf("k = %3d  heap %4d ms  loser tree %4d ms  same sum: %b%n",
+                    k, heapTime / 1_000_000, treeTime / 1_000_000, heapSum == treeSum[0]);
+        }
+    }
+}
@@ -1,5 +1,13 @@
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 interface List<E> extends Iterable<E> {
     int size();
@@ -9,8 +17,67 @@ interface List<E> extends Iterable<E> {
     void add(int i, E e) throws IndexOutOfBoundsException;
     E remove(int i) throws IndexOutOfBoundsException;
 }
-class DoublyLinkedList<E> {
-    private static class Node<E> {
+/**
+ * Spliterator over count consecutive nodes of a linked structure, starting at first.
+ * A split walks to the middle of the remaining nodes and hands off the first half as
+ * its own spliterator, so nothing is copied and every chunk reads the nodes in place.
+ * Splitting stops at MIN_BATCH nodes, below which a chunk is not worth a task.
+ * ORDERED, SIZED and SUBSIZED: count is exact as long as the structure is not changed.
+ */
+class NodeSpliterator<N, E> implements Spliterator<E>
+{
+    static final int MIN_BATCH = 16;
+
+    private N node;
+    private int count;
+    private final UnaryOperator<N> next;
+    private final Function<N, E> element;
+
+    NodeSpliterator(N first, int count, UnaryOperator<N> next, Function<N, E> element) {
+        this.node = first;
+        this.count = count;
+        this.next = next;
+        this.element = element;
+    }
+
+    // O(1)
+    public boolean tryAdvance(Consumer<? super E> action)
+    {
+        if (count == 0) return false;
+        action.accept(element.apply(node));
+        node = next.apply(node);
+        count--;
+        return true;
+    }
+
+    // O(k)
+    public void forEachRemaining(Consumer<? super E> action)
+    {
+        for (; count > 0; count--) {
+            action.accept(element.apply(node));
+            node = next.apply(node);
+        }
+    }
+
+    // O(k/2), hands off the first half of the remaining nodes
+    public Spliterator<E> trySplit()
+    {
+        if (count < 2 * MIN_BATCH) return null;
+        int half = count >>> 1;
+        N first = node;
+        for (int i = 0; i < half; i++)
+            node = next.apply(node);
+        count -= half;
+        return new NodeSpliterator<>(first, half, next, element);
+    }
+
+    public long estimateSize() { return count; }
+
+    public int characteristics() { return ORDERED | SIZED | SUBSIZED; }
+}
+
+class DoublyLinkedList<E> implements Iterable<E> {
+    static class Node<E> {
         private E element;               // reference to the element stored at this node
         private Node<E> prev;            // reference to the previous node in the list
         private Node<E> next;            // reference to the subsequent node in the list
@@ -20,20 +87,31 @@ class DoublyLinkedList<E> {
             next = n;
         }
         public E getElement() { return element; }
+        public void setElement(E e) { element = e; }
         public Node<E> getPrev() { return prev; }
         public Node<E> getNext() { return next; }
         public void setPrev(Node<E> p) { prev = p; }
         public void setNext(Node<E> n) { next = n; }
     }
 
-    private Node<E> header;
+    Node<E> header;
 
-    private Node<E> trailer;
+    Node<E> trailer;
 
     private int size = 0;
 
-    public DoublyLinkedList()
+    // removed nodes kept for reuse, chained through next
+    private final int poolCapacity;
+    private Node<E> free = null;
+    private int freeCount = 0;
+
+    public DoublyLinkedList() { this(0); }
+
+    // keeps up to poolCapacity removed nodes and reuses them, so add/remove churn allocates nothing
+    public DoublyLinkedList(int poolCapacity)
     {
+        if (poolCapacity < 0) throw new IllegalArgumentException("Illegal pool capacity: " + poolCapacity);
+        this.poolCapacity = poolCapacity;
         header = new Node<>(null, null, null);
         trailer = new Node<>(null, header, null);
         header.setNext(trailer);
@@ -71,24 +149,67 @@ class DoublyLinkedList<E> {
         return remove(trailer.getPrev());
     }
 
-    private void addBetween(E e, Node<E> predecessor, Node<E> successor)
+    void addBetween(E e, Node<E> predecessor, Node<E> successor)
     {
-        Node<E> newest = new Node<>(e, predecessor, successor);
+        Node<E> newest;
+        if (free != null) {
+            newest = free;
+            free = newest.getNext();
+            freeCount--;
+            newest.setElement(e);
+            newest.setPrev(predecessor);
+            newest.setNext(successor);
+        }
+        else {
+            newest = new Node<>(e, predecessor, successor);
+        }
         predecessor.setNext(newest);
         successor.setPrev(newest);
         size++;
     }
 
-    private E remove(Node<E> node)
+    E remove(Node<E> node)
     {
         Node<E> predecessor = node.getPrev();
         Node<E> successor = node.getNext();
         predecessor.setNext(successor);
         successor.setPrev(predecessor);
         size--;
-        return node.getElement();
+        E answer = node.getElement();
+        if (freeCount < poolCapacity) {
+            node.setElement(null);
+            node.setPrev(null);
+            node.setNext(free);
+            free = node;
+            freeCount++;
+        }
+        return answer;
     }
 
+    private class NodeIterator implements Iterator<E>
+    {
+        private Node<E> walk = header.getNext();
+
+        // O(1)
+        public boolean hasNext() { return walk != trailer; }
+
+        // O(1)
+        public E next()
+        {
+            if (walk == trailer) throw new NoSuchElementException("nothing left");
+            E answer = walk.getElement();
+            walk = walk.getNext();
+            return answer;
+        }
+    }
+
+    public Iterator<E> iterator() { return new NodeIterator(); }
+
+    public Spliterator<E> spliterator() {
+        return new NodeSpliterator<>(header.getNext(), size, Node::getNext, Node::getElement);
+    }
+
+    public Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
 
     public String toString()
     {
@@ -108,82 +229,148 @@ class DoublyLinkedList<E> {
 
 public class LinkedList<E> extends DoublyLinkedList<E> implements List<E>
 {
-    private DoublyLinkedList<E> dll = new DoublyLinkedList<>();
+    // the node most recently reached by index, so nearby accesses do not walk from an end
+    private Node<E> cursor = null;
+    private int cursorIndex = -1;
 
-    // O(n), as it "rotates" all the list
-    public E get(int i) throws IndexOutOfBoundsException
-    {
-        checkIndex(i, dll.size());
+    // nodes walked per indexed access, only recorded while a histogram is attached
+    private Histogram traversals = null;
 
-        E returnValue = dll.first();
+    void recordTraversals(Histogram histogram) { traversals = histogram; }
 
-        for (int j = 0; j < size(); j++)
-        {
-            dll.addLast(dll.removeFirst());
-            if(i == j) returnValue = dll.first();
+    public LinkedList() { super(); }
+
+    // reuses up to poolCapacity removed nodes, see DoublyLinkedList
+    public LinkedList(int poolCapacity) { super(poolCapacity); }
+
+    /**
+     * O(min(i, n-i, |i-cursor|)), walks from whichever of the header, the trailer
+     * or the cached cursor is nearest, and leaves the cursor at the result.
+     */
+    private Node<E> node(int i)
+    {
+        int n = size();
+        int fromCursor = (cursor == null) ? Integer.MAX_VALUE : Math.abs(i - cursorIndex);
+        Node<E> walk;
+
+        if (fromCursor <= i && fromCursor <= n - 1 - i) {
+            walk = cursor;
+            for (int j = cursorIndex; j < i; j++) walk = walk.getNext();
+            for (int j = cursorIndex; j > i; j--) walk = walk.getPrev();
+        }
+        else if (i < n - 1 - i) {
+            walk = header.getNext();
+            for (int j = 0; j < i; j++) walk = walk.getNext();
+        }
+        else {
+            walk = trailer.getPrev();
+            for (int j = n - 1; j > i; j--) walk = walk.getPrev();
         }
 
-        return returnValue;
+        if (traversals != null)
+            traversals.record(Math.min(fromCursor, Math.min(i, n - 1 - i)));
+        cursor = walk;
+        cursorIndex = i;
+        return walk;
     }
 
-    // O(n), as it "rotates" all the list
-    public E set(int i, E e) throws IndexOutOfBoundsException
+    // any structural change made through DoublyLinkedList shifts indices, so the cursor is dropped
+    void addBetween(E e, Node<E> predecessor, Node<E> successor)
     {
-        checkIndex(i, dll.size());
-        E returnValue = dll.first();
+        super.addBetween(e, predecessor, successor);
+        cursor = null;
+    }
 
-        for (int j = 0; j < size(); j++)
-        {
-            dll.addLast(dll.removeFirst());
-            if( i==j )
-            {
-                returnValue = dll.removeFirst();
-                dll.addFirst(e);
-            }
-        }
+    E remove(Node<E> node)
+    {
+        cursor = null;
+        return super.remove(node);
+    }
 
+    // O(1) amortized for sequential or nearby indices, O(n/2) worst case
+    public E get(int i) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size());
+        return node(i).getElement();
+    }
+
+    // O(1) amortized for sequential or nearby indices, O(n/2) worst case
+    public E set(int i, E e) throws IndexOutOfBoundsException
+    {
+        checkIndex(i, size());
+        Node<E> node = node(i);
+        E returnValue = node.getElement();
+        node.setElement(e);
         return returnValue;
     }
 
-    // O(n), as it "rotates" all the list
+    // O(1) at either end or next to the cursor, O(n/2) worst case
     public void add(int i, E e) throws IndexOutOfBoundsException
     {
-        checkIndex(i, dll.size());
+        checkIndex(i, size() + 1);
 
-        if(i == 0){
-            dll.addFirst(e);
-        }
-        else
-        {
-            for (int j = 0; j < size(); j++)
-            {
-                dll.addLast(dll.removeFirst());
+        Node<E> successor = (i == size()) ? trailer : node(i);
+        addBetween(e, successor.getPrev(), successor);
 
-                if (i == j) dll.addFirst(e);
-            }
-        }
+        cursor = successor.getPrev();
+        cursorIndex = i;
     }
 
-    // O(n), as it "rotates" all the list
-    public E remove(int i)throws IndexOutOfBoundsException
+    // O(1) at either end or next to the cursor, O(n/2) worst case
+    public E remove(int i) throws IndexOutOfBoundsException
     {
-        checkIndex(i, dll.size());
-        E returnValue = dll.first();
+        checkIndex(i, size());
 
-        for (int j = 0; j < size(); j++) {
-            dll.addLast(dll.removeFirst());
-            if(i==j) returnValue = dll.removeFirst();
-        }
+        Node<E> node = node(i);
+        Node<E> successor = node.getNext();
+        E returnValue = remove(node);
 
+        if (successor != trailer) {
+            cursor = successor;
+            cursorIndex = i;
+        }
         return returnValue;
     }
 
-    // O(1)
-    public Iterator<E> iterator() { return null; }
-
     // O(1)
     protected void checkIndex(int i, int n) throws IndexOutOfBoundsException {
-        if (i < 0 || i > dll.size()) throw new IndexOutOfBoundsException("Illegal index: "  + i);
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("Illegal index: "  + i);
+    }
+
+    // the project's List view of a java.util.ArrayList, so all implementations share one benchmark
+    private static <E> List<E> view(ArrayList<E> arrayList)
+    {
+        return new List<E>() {
+            public int size() { return arrayList.size(); }
+            public boolean isEmpty() { return arrayList.isEmpty(); }
+            public E get(int i) { return arrayList.get(i); }
+            public E set(int i, E e) { return arrayList.set(i, e); }
+            public void add(int i, E e) { arrayList.add(i, e); }
+            public E remove(int i) { return arrayList.remove(i); }
+            public Iterator<E> iterator() { return arrayList.iterator(); }
+        };
+    }
+
+    // milliseconds for ops rounds of add, get and remove at random indices, after filling the list to n
+    private static double randomIndexTime(List<Integer> list, int n, int ops)
+    {
+        for (int i = 0; i < n; i++)
+            list.add(list.size(), i);
+
+        Random random = new Random(42);
+        long sum = 0;
+        long startTime = System.nanoTime();
+
+        for (int k = 0; k < ops; k++)
+        {
+            list.add(random.nextInt(list.size() + 1), k);
+            sum += list.get(random.nextInt(list.size()));
+            sum += list.remove(random.nextInt(list.size()));
+        }
+
+        long elapsed = System.nanoTime() - startTime;
+        if (sum == 42) System.out.println();    // keeps the loop from being optimized away
+        return elapsed / 1e6;
     }
 
     public static void main(String[] args)
@@ -209,5 +396,36 @@ public class LinkedList<E> extends DoublyLinkedList<E> implements List<E>
 
         System.out.println("ArrayList:  " + arrayTime);
         System.out.println("LinkedList: " + linkedTime);
+
+        startTime = System.nanoTime();
+
+        long linkedSum = 0;
+        for (int i = 0; i < linkedList.size(); i++)
+            linkedSum += linkedList.get(i);
+
+        linkedTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+
+        long arraySum = 0;
+        for (int i = 0; i < arrayList.size(); i++)
+            arraySum += arrayList.get(i);
+
+        arrayTime = System.nanoTime() - startTime;
+
+        System.out.println("ArrayList get:  " + arrayTime);
+        System.out.println("LinkedList get: " + linkedTime);
+        System.out.println("Same sum: " + (linkedSum == arraySum));
+        System.out.println();
+
+        int ops = 1000;
+        System.out.printf("%10s %14s %14s %14s%n", "n", "ArrayList ms", "LinkedList ms", "SkipList ms");
+        for (int n = 10_000; n <= 10_000_000; n *= 10)
+        {
+            double array = randomIndexTime(view(new ArrayList<>()), n, ops);
+            double linked = randomIndexTime(new LinkedList<>(), n, ops);
+            double skip = randomIndexTime(new IndexableSkipList<>(), n, ops);
+            System.out.printf("%10d %14.2f %14.2f %14.2f%n", n, array, linked, skip);
+        }
     }
 }
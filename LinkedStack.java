@@ -1,5 +1,10 @@
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 interface Stack<E> {
     int size();
@@ -77,6 +82,38 @@ class SinglyLinkedList<E> implements Cloneable {
         return answer;
     }
 
+    // O(1), unlinks the node after pred, or the head when pred is null
+    E removeAfter(Node<E> pred) {
+        Node<E> node = (pred == null) ? head : pred.getNext();
+        if (pred == null) head = node.getNext();
+        else pred.setNext(node.getNext());
+        if (node == tail) tail = pred;
+        node.setNext(null);
+        size--;
+        return node.getElement();
+    }
+
+    // O(n), drops every element matching filter in one pass, true if any was dropped
+    public boolean removeIf(Predicate<? super E> filter) {
+        int before = size;
+        Node<E> pred = null;
+        Node<E> walk = head;
+        while (walk != null) {
+            Node<E> next = walk.getNext();
+            if (filter.test(walk.getElement()))
+                removeAfter(pred);
+            else
+                pred = walk;
+            walk = next;
+        }
+        return size != before;
+    }
+
+    // O(n) calls to c.contains, keeps only the elements c contains, true if any was dropped
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(e -> !c.contains(e));
+    }
+
     public boolean equals(Object o) {
         if (o == null) return false;
         if (getClass() != o.getClass()) return false;
@@ -127,12 +164,14 @@ public class LinkedStack<E> implements Stack<E>, Iterable<E>
 {
     private class LinkedStackIterator implements Iterator<E> {
         private SinglyLinkedList.Node<E> current;
-        private SinglyLinkedList.Node<E> previous;
+        private SinglyLinkedList.Node<E> previous;      // node returned by the last next, null once removed
+        private SinglyLinkedList.Node<E> predecessor;   // node before previous, null when previous is the top
 
         public LinkedStackIterator ()
         {
             current = values.head;
             previous = null;
+            predecessor = null;
         }
 
         // O(1), it just checks if the pointer isn't null.
@@ -145,33 +184,19 @@ public class LinkedStack<E> implements Stack<E>, Iterable<E>
 
             E element = current.getElement();
 
+            if (previous != null) predecessor = previous;
             previous = current;
             current = current.getNext();
 
             return element;
         }
 
-        /**
-         * Best case: O(1), if the previous is the top node,
-         * Worst case: O(n), if it must go through the entire list
-         *
-         * Time complexity: O(n).
-         */
+        // O(1), the predecessor of the last returned node is tracked by next
         public void remove() {
             if (previous == null) throw new IllegalStateException("nothing to remove");
 
-            if ( previous == top() ) { pop(); }
-            else
-            {
-                SinglyLinkedList.Node<E> temp = values.head;
-
-                while ( temp.getNext() != previous)
-                    temp = temp.getNext();
-
-                temp.setNext(previous.getNext());
-                previous.setNext(null);
-                values.size--;
-            }
+            values.removeAfter(predecessor);
+            previous = null;
         }
     }
 
@@ -189,6 +214,18 @@ public class LinkedStack<E> implements Stack<E>, Iterable<E>
     public E pop() { return values.removeFirst(); }
     public Iterator<E> iterator() { return new LinkedStackIterator(); }
 
+    public Spliterator<E> spliterator() {
+        return new NodeSpliterator<>(values.head, size(), SinglyLinkedList.Node::getNext, SinglyLinkedList.Node::getElement);
+    }
+
+    public Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
+
+    // O(n)
+    public boolean removeIf(Predicate<? super E> filter) { return values.removeIf(filter); }
+
+    // O(n) calls to c.contains
+    public boolean retainAll(Collection<?> c) { return values.retainAll(c); }
+
     public static void main(String[] args) {
 
         LinkedStack<Integer> stack = new LinkedStack<>();
@@ -211,5 +248,13 @@ public class LinkedStack<E> implements Stack<E>, Iterable<E>
         System.out.println();
 
         for (Integer e : stack) System.out.print(e + " ");
+        System.out.println();
+
+        stack.removeIf(e -> e % 2 == 0);
+        for (Integer e : stack) System.out.print(e + " ");
+        System.out.println();
+
+        stack.retainAll(java.util.List.of(3, 13, 43));
+        for (Integer e : stack) System.out.print(e + " ");
     }
 }
@@ -0,0 +1,59 @@
+/**
+ * ArrayQueue for unboxed longs: the same power-of-two ring, the same fixed or
+ * growable capacity and low-water mark, but 8 bytes per element instead of a
+ * reference to a Long.
+ */
+public class LongArrayQueue extends PrimitiveArrayQueue implements Iterable<Long>
+{
+    private class LongDirectionalIterator extends SlotCursor implements LongTwoDirectionalIterator
+    {
+        // O(1), no loops
+        public long nextLong() { return values[nextSlot()]; }
+
+        // O(1), no loops
+        public long previousLong() throws IllegalStateException { return values[previousSlot()]; }
+    }
+
+    private long[] values;
+
+    public LongArrayQueue() { this(ArrayQueue.CAPACITY); }
+
+    public LongArrayQueue(int capacity) { this(capacity, false, 0); }
+
+    public LongArrayQueue(int capacity, boolean growable) { this(capacity, growable, 0); }
+
+    // see ArrayQueue(int, boolean, double)
+    public LongArrayQueue(int capacity, boolean growable, double lowWaterMark) throws IllegalArgumentException
+    {
+        super(capacity, growable, lowWaterMark);
+        values = new long[arrayLength()];
+    }
+
+    Object values() { return values; }
+
+    Object newValues(int length) { return new long[length]; }
+
+    void setValues(Object values) { this.values = (long[]) values; }
+
+    void append(StringBuilder sb, int slot) { sb.append(values[slot]); }
+
+    // O(1) amortized
+    public void enqueue(long e) throws IllegalStateException
+    {
+        int slot = tailSlot();      // may grow the array, so values is read after it
+        values[slot] = e;
+    }
+
+    // O(1)
+    public long first() throws IllegalStateException { return values[headSlot()]; }
+
+    // O(1) amortized
+    public long dequeue() throws IllegalStateException
+    {
+        long answer = values[headSlot()];
+        advanceHead();
+        return answer;
+    }
+
+    public LongTwoDirectionalIterator iterator() { return new LongDirectionalIterator(); }
+}
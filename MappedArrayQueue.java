@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent ArrayQueue of fixed-size byte records. The ring lives in a memory-mapped
+ * file after a header page that holds the record size, the number of slots and the
+ * head and tail counters, so the queue survives restarts and its contents stay off
+ * the Java heap. Records are copied straight between the caller's buffer and the
+ * mapping. The OS writes the pages back on its own; force() makes them durable.
+ *
+ * Not thread-safe, like ArrayQueue.
+ */
+public class MappedArrayQueue implements Queue<ByteBuffer>, AutoCloseable
+{
+    private static final int MAGIC = 0x41525131;    // "ARQ1"
+    private static final int HEADER = 4096;
+    private static final int RECORD_SIZE_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int HEAD_OFFSET = 16;
+    private static final int TAIL_OFFSET = 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int recordSize;
+    private final int mask;
+    private long head;      // counters only grow, the slot is counter & mask
+    private long tail;
+
+    /**
+     * Opens the queue stored in file, or creates it with room for capacity records
+     * (rounded up to a power of two) of recordSize bytes. An existing file must have
+     * been created with the same record size.
+     */
+    public MappedArrayQueue(Path file, int recordSize, int capacity) throws IOException, IllegalArgumentException
+    {
+        if (recordSize < 1) throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        if (capacity < 1 || capacity > ArrayQueue.MAX_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+
+        boolean exists = Files.exists(file) && Files.size(file) >= HEADER;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int slots;
+            if (exists) {
+                ByteBuffer header = ByteBuffer.allocate(CAPACITY_OFFSET + 4);
+                channel.read(header, 0);
+                if (header.getInt(0) != MAGIC) throw new IllegalArgumentException(file + " is not a queue file");
+                if (header.getInt(RECORD_SIZE_OFFSET) != recordSize)
+                    throw new IllegalArgumentException("Record size " + header.getInt(RECORD_SIZE_OFFSET) + " in " + file);
+                slots = header.getInt(CAPACITY_OFFSET);
+            }
+            else {
+                slots = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+            }
+
+            long length = HEADER + (long) slots * recordSize;
+            if (length > Integer.MAX_VALUE) throw new IllegalArgumentException("Queue does not fit in one mapping");
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            this.recordSize = recordSize;
+            this.mask = slots - 1;
+
+            if (exists) {
+                head = buffer.getLong(HEAD_OFFSET);
+                tail = buffer.getLong(TAIL_OFFSET);
+            }
+            else {
+                buffer.putInt(RECORD_SIZE_OFFSET, recordSize);
+                buffer.putInt(CAPACITY_OFFSET, slots);
+                buffer.putLong(HEAD_OFFSET, 0);
+                buffer.putLong(TAIL_OFFSET, 0);
+                buffer.putInt(0, MAGIC);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() { return (int) (tail - head); }
+
+    public boolean isEmpty() { return head == tail; }
+
+    public int capacity() { return mask + 1; }
+
+    public int recordSize() { return recordSize; }
+
+    private int offset(long counter) { return HEADER + (int) (counter & mask) * recordSize; }
+
+    // O(recordSize), copies the remaining bytes of record, which must be exactly one record, without moving its position
+    public void enqueue(ByteBuffer record) throws IllegalStateException, IllegalArgumentException
+    {
+        if (record.remaining() != recordSize)
+            throw new IllegalArgumentException("Record must have " + recordSize + " bytes");
+        if (size() == capacity()) throw new IllegalStateException("Queue is full");
+
+        buffer.put(offset(tail), record, record.position(), recordSize);
+        tail++;
+        buffer.putLong(TAIL_OFFSET, tail);
+    }
+
+    // O(1), a read-only view of the first record, valid until it is dequeued
+    public ByteBuffer first()
+    {
+        if (isEmpty()) return null;
+        return buffer.slice(offset(head), recordSize).asReadOnlyBuffer();
+    }
+
+    // O(recordSize), the first record copied to a new heap buffer
+    public ByteBuffer dequeue()
+    {
+        if (isEmpty()) return null;
+        ByteBuffer answer = ByteBuffer.allocate(recordSize);
+        dequeue(answer);
+        answer.flip();
+        return answer;
+    }
+
+    // O(recordSize) without allocating, copies the first record into dst and advances its position
+    public boolean dequeue(ByteBuffer dst) throws IllegalArgumentException
+    {
+        if (isEmpty()) return false;
+        if (dst.remaining() < recordSize) throw new IllegalArgumentException("No room for a record");
+
+        dst.put(dst.position(), buffer, offset(head), recordSize);
+        dst.position(dst.position() + recordSize);
+        head++;
+        buffer.putLong(HEAD_OFFSET, head);
+        return true;
+    }
+
+    // writes every changed page of the mapping, header included, to the storage device
+    public void force() { buffer.force(); }
+
+    public void close() throws IOException
+    {
+        force();
+        channel.close();
+    }
+
+    public String toString() { return "MappedArrayQueue(" + size() + " of " + capacity() + " records)"; }
+
+    public static void main(String[] args) throws IOException
+    {
+        Path file = Files.createTempFile("queue", ".dat");
+        Files.delete(file);
+
+        try (MappedArrayQueue queue = new MappedArrayQueue(file, Long.BYTES, 1000)) {
+            ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+            for (long i = 0; i < 10; i++)
+                queue.enqueue(record.putLong(0, i * i));
+            queue.dequeue(record.clear());
+            System.out.println("Before restart: " + queue + ", dequeued " + record.getLong(0));
+        }
+
+        try (MappedArrayQueue queue = new MappedArrayQueue(file, Long.BYTES, 1000)) {
+            System.out.print("After restart:  " + queue + ":");
+            ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+            while (queue.dequeue(record.clear()))
+                System.out.print(" " + record.getLong(0));
+            System.out.println();
+        }
+
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,299 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+// Same padding scheme as SpscArrayQueue: head and tail on cache lines of their own.
+abstract class MpmcLeftPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcTailField extends MpmcLeftPad {
+    volatile long tail;     // next position to claim for an enqueue
+}
+
+abstract class MpmcMiddlePad extends MpmcTailField {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcHeadField extends MpmcMiddlePad {
+    volatile long head;     // next position to claim for a dequeue
+}
+
+abstract class MpmcRightPad extends MpmcHeadField {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * Bounded lock-free queue for any number of producer and consumer threads
+ * (Vyukov's bounded MPMC queue). Every slot carries a sequence number: a slot
+ * at position p is free for the producer of p when its sequence is p, and holds
+ * the element of p when its sequence is p + 1. Producers and consumers claim
+ * positions with a CAS on tail or head and publish the slot with a release store
+ * of its sequence.
+ *
+ * enqueueAll and drainTo claim a whole range of positions with a single CAS, then
+ * fill or empty the slots one by one. A slot of the range may still be in the hands
+ * of the thread that claimed it one lap earlier; that thread already holds its claim,
+ * so the wait for it is short.
+ */
+public class MpmcArrayQueue<E> extends MpmcRightPad implements Queue<E>
+{
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(MpmcHeadField.class, "head", long.class);
+            TAIL = lookup.findVarHandle(MpmcTailField.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final E[] values;
+    private final long[] sequences;
+    private final int mask;
+
+    public MpmcArrayQueue() { this(ArrayQueue.CAPACITY); }
+
+    public MpmcArrayQueue(int capacity) throws IllegalArgumentException
+    {
+        if (capacity < 2 || capacity > ArrayQueue.MAX_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        values = (E[]) new Object[length];
+        sequences = new long[length];
+        for (int i = 0; i < length; i++)
+            sequences[i] = i;
+        mask = length - 1;
+    }
+
+    // O(1), a snapshot while other threads are running
+    public int size()
+    {
+        long h = head;
+        long t = tail;
+        return (int) Math.max(0, Math.min(t - h, values.length));
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    public int capacity() { return values.length; }
+
+    // O(1) without contention
+    public void enqueue(E e) throws IllegalStateException
+    {
+        if (!offer(e)) throw new IllegalStateException("Queue is full");
+    }
+
+    // O(1) without contention, false when the queue is full
+    public boolean offer(E e) throws IllegalArgumentException
+    {
+        if (e == null) throw new IllegalArgumentException("null elements are not allowed");
+        long pos = tail;
+        while (true)
+        {
+            int i = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, i) - pos;
+            if (diff == 0) {
+                if (TAIL.compareAndSet(this, pos, pos + 1)) {
+                    values[i] = e;
+                    SEQUENCE.setRelease(sequences, i, pos + 1);
+                    return true;
+                }
+                pos = tail;
+            }
+            else if (diff < 0) {
+                return false;
+            }
+            else {
+                pos = tail;
+            }
+        }
+    }
+
+    // O(k), how many of the up to max slots from pos on already carry sequence position + lag, checked in order
+    private int ready(long pos, int max, long lag)
+    {
+        int k = 0;
+        while (k < max && (long) SEQUENCE.getAcquire(sequences, (int) (pos + k) & mask) == pos + k + lag)
+            k++;
+        return k;
+    }
+
+    /**
+     * Enqueues es[from, to) in order, or as much of its prefix as there are free slots for,
+     * claiming all the slots with one CAS. Only slots consumers have already released are
+     * counted, so it never waits on another thread. Returns how many were enqueued.
+     */
+    public int offerAll(E[] es, int from, int to) throws IllegalArgumentException
+    {
+        for (int k = from; k < to; k++)
+            if (es[k] == null) throw new IllegalArgumentException("null elements are not allowed");
+
+        while (true)
+        {
+            long pos = tail;
+            int count = ready(pos, to - from, 0);
+            if (count == 0) {
+                if (pos == tail) return 0;
+                continue;
+            }
+            if (TAIL.compareAndSet(this, pos, pos + count)) {
+                for (int k = 0; k < count; k++)
+                {
+                    long p = pos + k;
+                    int i = (int) p & mask;
+                    values[i] = es[from + k];
+                    SEQUENCE.setRelease(sequences, i, p + 1);
+                }
+                return count;
+            }
+        }
+    }
+
+    // enqueues all of es in order with one claim, or none of them when there are not that many free slots
+    public void enqueueAll(E[] es) throws IllegalStateException
+    {
+        for (E e : es)
+            if (e == null) throw new IllegalArgumentException("null elements are not allowed");
+
+        while (true)
+        {
+            long pos = tail;
+            if (ready(pos, es.length, 0) < es.length) {
+                if (pos == tail) throw new IllegalStateException("Queue is full");
+                continue;
+            }
+            if (TAIL.compareAndSet(this, pos, pos + es.length)) {
+                for (int k = 0; k < es.length; k++)
+                {
+                    long p = pos + k;
+                    int i = (int) p & mask;
+                    values[i] = es[k];
+                    SEQUENCE.setRelease(sequences, i, p + 1);
+                }
+                return;
+            }
+        }
+    }
+
+    // O(1) without contention, the element a dequeue would have returned at the time of the call
+    public E first()
+    {
+        while (true)
+        {
+            long pos = head;
+            int i = (int) pos & mask;
+            if ((long) SEQUENCE.getAcquire(sequences, i) != pos + 1) {
+                if (pos == head) return null;
+                continue;
+            }
+            E answer = values[i];
+            if ((long) SEQUENCE.getAcquire(sequences, i) == pos + 1) return answer;
+        }
+    }
+
+    // O(1) without contention, null when the queue is empty
+    public E dequeue()
+    {
+        long pos = head;
+        while (true)
+        {
+            int i = (int) pos & mask;
+            long diff = (long) SEQUENCE.getAcquire(sequences, i) - (pos + 1);
+            if (diff == 0) {
+                if (HEAD.compareAndSet(this, pos, pos + 1)) {
+                    E answer = values[i];
+                    values[i] = null;
+                    SEQUENCE.setRelease(sequences, i, pos + values.length);
+                    return answer;
+                }
+                pos = head;
+            }
+            else if (diff < 0) {
+                return null;
+            }
+            else {
+                pos = head;
+            }
+        }
+    }
+
+    /**
+     * Dequeues up to max elements in order with one claim and hands them to consumer.
+     * Only elements producers have already published are counted, so a producer that
+     * has claimed a slot but not filled it yet ends the batch instead of stalling it.
+     * Returns how many were dequeued.
+     */
+    public int drainTo(Consumer<? super E> consumer, int max)
+    {
+        while (true)
+        {
+            long pos = head;
+            int count = ready(pos, max, 1);
+            if (count == 0) {
+                if (pos == head) return 0;
+                continue;
+            }
+            if (HEAD.compareAndSet(this, pos, pos + count)) {
+                for (int k = 0; k < count; k++)
+                {
+                    long p = pos + k;
+                    int i = (int) p & mask;
+                    E e = values[i];
+                    values[i] = null;
+                    SEQUENCE.setRelease(sequences, i, p + values.length);
+                    consumer.accept(e);
+                }
+                return count;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(256);
+        int producers = 4, perProducer = 250_000, batch = 32;
+        long[] sums = new long[producers];
+
+        Thread[] threads = new Thread[2 * producers];
+        for (int p = 0; p < producers; p++)
+        {
+            int first = p * perProducer;
+            threads[p] = new Thread(() -> {
+                Integer[] chunk = new Integer[batch];
+                for (int i = 0; i < perProducer; i += batch)
+                {
+                    int n = Math.min(batch, perProducer - i);
+                    for (int k = 0; k < n; k++)
+                        chunk[k] = first + i + k;
+                    for (int sent = 0; sent < n; )
+                    {
+                        int moved = queue.offerAll(chunk, sent, n);
+                        if (moved == 0) Thread.yield();
+                        sent += moved;
+                    }
+                }
+            });
+            int c = p;
+            threads[producers + p] = new Thread(() -> {
+                long[] received = new long[2];
+                while (received[0] < perProducer)
+                {
+                    int moved = queue.drainTo(e -> { received[0]++; received[1] += e; },
+                                              (int) Math.min(batch, perProducer - received[0]));
+                    if (moved == 0) Thread.yield();
+                }
+                sums[c] = received[1];
+            });
+        }
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        long n = (long) producers * perProducer, sum = 0;
+        for (long s : sums) sum += s;
+        System.out.println("Sum: " + sum + ", expected: " + n * (n - 1) / 2);
+    }
+}
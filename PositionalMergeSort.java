@@ -1,5 +1,15 @@
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 interface Position<E> {
     E getElement() throws IllegalStateException;
@@ -9,6 +19,7 @@ interface PositionalList<E> extends Iterable<E>
 {
     int size();
     boolean isEmpty();
+    Position<E> first();
     Position<E> last();
     Position<E> before(Position<E> p) throws IllegalArgumentException;
     Position<E> after(Position<E> p) throws IllegalArgumentException;
@@ -29,6 +40,7 @@ class LinkedPositionalList<E> implements PositionalList<E> {
         private E element;
         private Node<E> prev;
         private Node<E> next;
+        private Owner<E> owner;     // the cell naming the list this node is in, null once removed
 
         public Node(E e, Node<E> p, Node<E> n) {
             element = e;
@@ -53,28 +65,95 @@ class LinkedPositionalList<E> implements PositionalList<E> {
         public void setNext(Node<E> n) { next = n; }
     }
 
+    // a node a pooled list may recycle, with the one Handle it is known by while in a list
+    private static class PooledNode<E> extends Node<E> {
+
+        private Handle<E> handle;   // null while the node sits in the pool
+
+        PooledNode(E e, Node<E> p, Node<E> n) { super(e, p, n); }
+    }
+
+    // what a pooled list hands out instead of a node, valid until its node is removed
+    private static class Handle<E> implements Position<E> {
+
+        private final PooledNode<E> node;
+
+        Handle(PooledNode<E> node) { this.node = node; }
+
+        public E getElement() throws IllegalStateException {
+            if (node.handle != this)
+                throw new IllegalStateException("Position no longer valid");
+            return node.getElement();
+        }
+    }
+
+    // names the list a group of nodes is in; concat repoints the cells instead of the nodes
+    private static class Owner<E> {
+        private LinkedPositionalList<E> list;
+        Owner(LinkedPositionalList<E> list) { this.list = list; }
+    }
+
     private Node<E> header;
 
     private Node<E> trailer;
 
     private int size = 0;
 
-    public LinkedPositionalList() {
+    // the cell given to nodes added or spliced in from now on
+    private Owner<E> owner = new Owner<>(this);
+
+    // the cells of lists concatenated into this one, which now name this list; null until the first concat
+    private java.util.ArrayList<Owner<E>> inherited = null;
+
+    // removed nodes kept for reuse, chained through prev (next stays null so they fail validate)
+    private final int poolCapacity;
+    private PooledNode<E> free = null;
+    private int freeCount = 0;
+
+    public LinkedPositionalList() { this(0); }
+
+    /**
+     * Keeps up to poolCapacity removed nodes and reuses them for later adds, so a
+     * steady add/remove churn allocates a small handle per add instead of a node.
+     * Each add gives its node a fresh Handle, which navigation returns unchanged;
+     * removing the node drops it, so a handle to a removed element is rejected even
+     * after its node is reused. Nodes that reached this list from an unpooled one
+     * stay their own positions and are not recycled.
+     */
+    public LinkedPositionalList(int poolCapacity) {
+        if (poolCapacity < 0) throw new IllegalArgumentException("Illegal pool capacity: " + poolCapacity);
+        this.poolCapacity = poolCapacity;
         header = new Node<>(null, null, null);
         trailer = new Node<>(null, header, null);
         header.setNext(trailer);
     }
 
     private Node<E> validate(Position<E> p) throws IllegalArgumentException {
-        if ( !(p instanceof Node) ) throw new IllegalArgumentException("Invalid p");
-        Node<E> node = (Node<E>) p;
+        Node<E> node;
+        if (p instanceof Node) {
+            node = (Node<E>) p;
+        }
+        else if (p instanceof Handle) {
+            Handle<E> handle = (Handle<E>) p;
+            if (handle.node.handle != handle)
+                throw new IllegalArgumentException("p is no longer in the list");
+            node = handle.node;
+        }
+        else {
+            throw new IllegalArgumentException("Invalid p");
+        }
         if (node.getNext() == null)
             throw new IllegalArgumentException("p is no longer in the list");
+        if (node.owner.list != this)
+            throw new IllegalArgumentException("p belongs to another list");
         return node;
     }
+
     private Position<E> position(Node<E> node) {
         if (node == header || node == trailer)
             return null;
+        if (node instanceof PooledNode)
+            return ((PooledNode<E>) node).handle;
         return node;
     }
 
@@ -98,11 +177,30 @@ class LinkedPositionalList<E> implements PositionalList<E> {
 
     private Position<E> addBetween(E e, Node<E> pred, Node<E> succ)
     {
-        Node<E> newest = new Node<>(e, pred, succ);
+        Node<E> newest;
+        if (free != null) {
+            PooledNode<E> reused = free;
+            free = (PooledNode<E>) reused.getPrev();
+            freeCount--;
+            reused.setElement(e);
+            reused.setPrev(pred);
+            reused.setNext(succ);
+            reused.handle = new Handle<>(reused);
+            newest = reused;
+        }
+        else if (poolCapacity > 0) {
+            PooledNode<E> created = new PooledNode<>(e, pred, succ);
+            created.handle = new Handle<>(created);
+            newest = created;
+        }
+        else {
+            newest = new Node<>(e, pred, succ);
+        }
+        newest.owner = owner;
         pred.setNext(newest);
         succ.setPrev(newest);
         size++;
-        return newest;
+        return position(newest);
     }
 
     public Position<E> addFirst(E e) { return addBetween(e, header, header.getNext()); }
@@ -129,21 +227,240 @@ class LinkedPositionalList<E> implements PositionalList<E> {
         return answer;
     }
 
-    public E remove(Position<E> p) throws IllegalArgumentException
+    public E remove(Position<E> p) throws IllegalArgumentException { return remove(validate(p)); }
+
+    private E remove(Node<E> node)
     {
-        Node<E> node = validate(p);
         Node<E> predecessor = node.getPrev();
         Node<E> successor = node.getNext();
         predecessor.setNext(successor);
         successor.setPrev(predecessor);
         size--;
         E answer = node.getElement();
+        node.owner = null;
         node.setElement(null);
         node.setNext(null);
         node.setPrev(null);
+        if (node instanceof PooledNode) {
+            PooledNode<E> pooled = (PooledNode<E>) node;
+            pooled.handle = null;
+            if (freeCount < poolCapacity) {
+                pooled.setPrev(free);
+                free = pooled;
+                freeCount++;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Bottom-up natural merge sort that relinks the existing nodes.
+     * No node is allocated and every Position keeps pointing at its element.
+     * Stable. O(n log r) for r ascending runs, so O(n) on sorted input.
+     */
+    public void sort(Comparator<? super E> c)
+    {
+        if (size() < 2) return;
+
+        // while sorting, the nodes form a null-terminated chain hanging off the header
+        trailer.getPrev().setNext(null);
+
+        int runs;
+        do {
+            Node<E> walk = header.getNext();
+            Node<E> tail = header;
+            runs = 0;
+            while (walk != null)
+            {
+                Node<E> a = walk;
+                Node<E> aEnd = runEnd(a, c);
+                Node<E> b = aEnd.getNext();
+                aEnd.setNext(null);
+                runs++;
+                if (b == null) {
+                    tail.setNext(a);
+                    break;
+                }
+                Node<E> bEnd = runEnd(b, c);
+                walk = bEnd.getNext();
+                bEnd.setNext(null);
+                tail = mergeRuns(a, b, tail, c);
+            }
+        } while (runs > 1);
+
+        // restore the prev links and the trailer
+        Node<E> pred = header;
+        for (Node<E> walk = header.getNext(); walk != null; walk = walk.getNext())
+        {
+            walk.setPrev(pred);
+            pred = walk;
+        }
+        pred.setNext(trailer);
+        trailer.setPrev(pred);
+    }
+
+    // O(run length), last node of the non-descending run starting at node
+    private Node<E> runEnd(Node<E> node, Comparator<? super E> c)
+    {
+        while (node.getNext() != null && c.compare(node.getNext().element, node.element) >= 0)
+            node = node.getNext();
+        return node;
+    }
+
+    // O(|a| + |b|), appends the merge of two null-terminated runs after tail and returns the new tail
+    private Node<E> mergeRuns(Node<E> a, Node<E> b, Node<E> tail, Comparator<? super E> c)
+    {
+        while (a != null && b != null)
+        {
+            if (c.compare(b.element, a.element) < 0) {
+                tail.setNext(b);
+                b = b.getNext();
+            }
+            else {
+                tail.setNext(a);
+                a = a.getNext();
+            }
+            tail = tail.getNext();
+        }
+        Node<E> rest = (a != null) ? a : b;
+        tail.setNext(rest);
+        while (tail.getNext() != null)
+            tail = tail.getNext();
+        return tail;
+    }
+
+    /**
+     * O(k) for k moved nodes, moves the nodes from..to, which must not come before from in
+     * this list, to dest right after the position after (or to its front when after is null).
+     * When dest is this list, after must not lie inside from..to. The nodes are relinked,
+     * not copied, and dest becomes their owner: their positions stay valid in dest and
+     * are rejected by this list from then on. Both sizes stay exact. The one pass over
+     * the range checks it and, between two lists, moves each node's ownership; use concat
+     * to move a whole list in O(1).
+     */
+    public void splice(Position<E> from, Position<E> to, PositionalList<E> dest, Position<E> after)
+            throws IllegalArgumentException
+    {
+        if (!(dest instanceof LinkedPositionalList))
+            throw new IllegalArgumentException("dest must be a LinkedPositionalList");
+        LinkedPositionalList<E> target = (LinkedPositionalList<E>) dest;
+        Node<E> first = validate(from);
+        Node<E> last = validate(to);
+        Node<E> pred = (after == null) ? target.header : target.validate(after);
+
+        int count = 0;
+        for (Node<E> walk = first; ; walk = walk.getNext())
+        {
+            if (walk == trailer) {
+                // to was not reached, so undo any ownership already moved
+                for (Node<E> undo = first; undo != trailer; undo = undo.getNext())
+                    undo.owner = owner;
+                throw new IllegalArgumentException("to comes before from");
+            }
+            if (walk == pred) throw new IllegalArgumentException("after lies inside the range");
+            if (target != this) walk.owner = target.owner;
+            count++;
+            if (walk == last) break;
+        }
+        if (pred.getNext() == first) return;
+
+        first.getPrev().setNext(last.getNext());
+        last.getNext().setPrev(first.getPrev());
+
+        Node<E> succ = pred.getNext();
+        pred.setNext(first);
+        first.setPrev(pred);
+        last.setNext(succ);
+        succ.setPrev(last);
+
+        if (target != this) {
+            size -= count;
+            target.size += count;
+        }
+    }
+
+    /**
+     * O(c) for the c lists concatenated into other so far, moves every node of other to the
+     * end of this list, leaving other empty. Nodes are not touched: the owner cells they
+     * share are repointed at this list.
+     */
+    public void concat(LinkedPositionalList<E> other) throws IllegalArgumentException
+    {
+        if (other == this) throw new IllegalArgumentException("cannot concat a list to itself");
+        if (other.isEmpty()) return;
+
+        Node<E> first = other.header.getNext();
+        Node<E> last = other.trailer.getPrev();
+        Node<E> pred = trailer.getPrev();
+        pred.setNext(first);
+        first.setPrev(pred);
+        last.setNext(trailer);
+        trailer.setPrev(last);
+
+        if (inherited == null) inherited = new java.util.ArrayList<>();
+        other.owner.list = this;
+        inherited.add(other.owner);
+        if (other.inherited != null) {
+            for (Owner<E> cell : other.inherited) {
+                cell.list = this;
+                inherited.add(cell);
+            }
+            other.inherited = null;
+        }
+        other.owner = new Owner<>(other);
+
+        size += other.size;
+        other.header.setNext(other.trailer);
+        other.trailer.setPrev(other.header);
+        other.size = 0;
+    }
+
+    // O(n), the positions of this list in order
+    Position<E>[] positionArray()
+    {
+        Position<E>[] answer = (Position<E>[]) new Position[size()];
+        Node<E> walk = header.getNext();
+        for (int k = 0; k < answer.length; k++)
+        {
+            answer[k] = walk;
+            walk = walk.getNext();
+        }
         return answer;
     }
 
+    // O(n), relinks the nodes in the given order, which must be a permutation of this list's positions
+    void relink(Position<E>[] order) throws IllegalArgumentException
+    {
+        if (order.length != size()) throw new IllegalArgumentException("order must hold every position");
+        Node<E> pred = header;
+        for (Position<E> p : order)
+        {
+            Node<E> node = validate(p);
+            pred.setNext(node);
+            node.setPrev(pred);
+            pred = node;
+        }
+        pred.setNext(trailer);
+        trailer.setPrev(pred);
+    }
+
+    // O(n), relinks the nodes as a[order[0]], a[order[1]], ..., with a holding every position once
+    void relink(Position<E>[] a, int[] order) throws IllegalArgumentException
+    {
+        if (a.length != size() || order.length != size())
+            throw new IllegalArgumentException("order must hold every position");
+        Node<E> pred = header;
+        for (int i : order)
+        {
+            Node<E> node = validate(a[i]);
+            pred.setNext(node);
+            node.setPrev(pred);
+            pred = node;
+        }
+        pred.setNext(trailer);
+        trailer.setPrev(pred);
+    }
+
     private class PositionIterator implements Iterator<Position<E>> {
 
         private Position<E> cursor = first();
@@ -176,16 +493,38 @@ class LinkedPositionalList<E> implements PositionalList<E> {
         return new PositionIterable();
     }
 
+    // walks the nodes directly, so a pooled list does not create a handle per element
     private class ElementIterator implements Iterator<E>
     {
-        Iterator<Position<E>> posIterator = new PositionIterator();
-        public boolean hasNext() { return posIterator.hasNext(); }
-        public E next() { return posIterator.next().getElement(); }
-        public void remove() { posIterator.remove(); }
+        private Node<E> cursor = header.getNext();
+        private Node<E> recent = null;
+
+        public boolean hasNext() { return cursor != trailer; }
+
+        public E next() throws NoSuchElementException
+        {
+            if (cursor == trailer) throw new NoSuchElementException("nothing left");
+            recent = cursor;
+            cursor = cursor.getNext();
+            return recent.getElement();
+        }
+
+        public void remove() throws IllegalStateException
+        {
+            if (recent == null) throw new IllegalStateException("nothing to remove");
+            LinkedPositionalList.this.remove(recent);
+            recent = null;
+        }
     }
 
     public Iterator<E> iterator() { return new ElementIterator(); }
 
+    public Spliterator<E> spliterator() {
+        return new NodeSpliterator<>(header.getNext(), size, Node::getNext, Node::getElement);
+    }
+
+    public Stream<E> stream() { return StreamSupport.stream(spliterator(), false); }
+
     public String toString()
     {
         StringBuilder sb = new StringBuilder("(");
@@ -204,7 +543,12 @@ class LinkedPositionalList<E> implements PositionalList<E> {
 
 public class PositionalMergeSort<E extends Comparable<E>>
 {
-    public void mergeSort(LinkedPositionalList<E> S) {
+    public static final int PARALLEL_CUTOFF = 8192;
+    private static final int INSERTION_RUN = 16;
+
+    public void mergeSort(LinkedPositionalList<E> S) { mergeSort(S, Comparator.naturalOrder()); }
+
+    public static <E> void mergeSort(LinkedPositionalList<E> S, Comparator<? super E> c) {
         int n = S.size();
         if (n < 2) return;
         int mid = n/2;
@@ -226,11 +570,22 @@ public class PositionalMergeSort<E extends Comparable<E>>
             cursor = S.after(cursor);
         }
 
-        mergeSort(S1);
-        mergeSort(S2);
-        merge(S1, S2, S);
+        mergeSort(S1, c);
+        mergeSort(S2, c);
+        merge(S1, S2, S, c);
     }
+    // O(n log n), relinks the nodes of S instead of copying, so positions held by callers stay valid
+    public void mergeSortInPlace(LinkedPositionalList<E> S) {
+        S.sort(Comparator.naturalOrder());
+    }
+
     public void merge (LinkedPositionalList<E> S1, LinkedPositionalList<E> S2, LinkedPositionalList<E> S)
+    {
+        merge(S1, S2, S, Comparator.naturalOrder());
+    }
+
+    public static <E> void merge (LinkedPositionalList<E> S1, LinkedPositionalList<E> S2, LinkedPositionalList<E> S,
+                                  Comparator<? super E> c)
     {
         Position<E> i = S1.first();
         Position<E> j = S2.first();
@@ -241,7 +596,7 @@ public class PositionalMergeSort<E extends Comparable<E>>
         // Maybe I should use iterators, but "If it works don't touch it"
         while(i != null || j != null)
         {
-            if (j == null || i != null && i.getElement().compareTo(j.getElement()) < 0
+            if (j == null || i != null && c.compare(i.getElement(), j.getElement()) <= 0
             ) {
                 S.addLast(i.getElement());
                 i = S1.after(i);
@@ -253,6 +608,590 @@ public class PositionalMergeSort<E extends Comparable<E>>
         }
     }
 
+    public void parallelMergeSort(LinkedPositionalList<E> S) { parallelMergeSort(S, PARALLEL_CUTOFF); }
+
+    public void parallelMergeSort(LinkedPositionalList<E> S, int cutoff) throws IllegalArgumentException
+    {
+        parallelMergeSort(S, Comparator.naturalOrder(), cutoff);
+    }
+
+    /**
+     * Stable fork/join merge sort. The positions are sorted in an array, halves and merges
+     * larger than cutoff are split across the common pool, and the nodes are relinked at the end,
+     * so positions held by callers stay valid. Same output as mergeSort.
+     */
+    public static <E> void parallelMergeSort(LinkedPositionalList<E> S, Comparator<? super E> c, int cutoff)
+            throws IllegalArgumentException
+    {
+        if (cutoff < 2) throw new IllegalArgumentException("cutoff must be at least 2");
+        int n = S.size();
+        if (n < 2) return;
+
+        Position<E>[] a = S.positionArray();
+        Position<E>[] buf = (Position<E>[]) new Position[n];
+        ForkJoinPool.commonPool().invoke(new SortTask<>(a, buf, 0, n, cutoff, c));
+        S.relink(a);
+    }
+
+    private static class SortTask<E> extends RecursiveAction
+    {
+        private final Position<E>[] a, buf;
+        private final int lo, hi, cutoff;
+        private final Comparator<? super E> c;
+
+        SortTask(Position<E>[] a, Position<E>[] buf, int lo, int hi, int cutoff, Comparator<? super E> c) {
+            this.a = a;
+            this.buf = buf;
+            this.lo = lo;
+            this.hi = hi;
+            this.cutoff = cutoff;
+            this.c = c;
+        }
+
+        protected void compute()
+        {
+            if (hi - lo <= cutoff) {
+                sequentialSort(a, buf, lo, hi, c);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, buf, lo, mid, cutoff, c), new SortTask<>(a, buf, mid, hi, cutoff, c));
+            new MergeTask<>(a, buf, lo, mid, mid, hi, lo, cutoff, c).invoke();
+            System.arraycopy(buf, lo, a, lo, hi - lo);
+        }
+    }
+
+    // Merges a[lo1, hi1) and a[lo2, hi2) into buf starting at dst, splitting around the median of the longer run
+    private static class MergeTask<E> extends RecursiveAction
+    {
+        private final Position<E>[] a, buf;
+        private final int lo1, hi1, lo2, hi2, dst, cutoff;
+        private final Comparator<? super E> c;
+
+        MergeTask(Position<E>[] a, Position<E>[] buf, int lo1, int hi1, int lo2, int hi2, int dst,
+                  int cutoff, Comparator<? super E> c) {
+            this.a = a;
+            this.buf = buf;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.cutoff = cutoff;
+            this.c = c;
+        }
+
+        protected void compute()
+        {
+            int n1 = hi1 - lo1, n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                mergeRanges(a, lo1, hi1, lo2, hi2, buf, dst, c);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                // right elements equal to the split key must stay after it
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = search(a, lo2, hi2, a[m1].getElement(), false, c);
+            }
+            else {
+                // left elements equal to the split key must stay before it
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = search(a, lo1, hi1, a[m2].getElement(), true, c);
+            }
+            int dstMid = dst + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask<>(a, buf, lo1, m1, lo2, m2, dst, cutoff, c),
+                      new MergeTask<>(a, buf, m1, hi1, m2, hi2, dstMid, cutoff, c));
+        }
+    }
+
+    // O(n log n), stable top-down merge sort of a[lo, hi) using buf as scratch space
+    private static <E> void sequentialSort(Position<E>[] a, Position<E>[] buf, int lo, int hi, Comparator<? super E> c)
+    {
+        if (hi - lo < 2) return;
+        int mid = (lo + hi) >>> 1;
+        sequentialSort(a, buf, lo, mid, c);
+        sequentialSort(a, buf, mid, hi, c);
+        if (c.compare(a[mid - 1].getElement(), a[mid].getElement()) <= 0) return;
+        mergeRanges(a, lo, mid, mid, hi, buf, lo, c);
+        System.arraycopy(buf, lo, a, lo, hi - lo);
+    }
+
+    // O(n1 + n2), ties are taken from the left run
+    private static <E> void mergeRanges(Position<E>[] a, int i, int hi1, int j, int hi2,
+                                        Position<E>[] out, int k, Comparator<? super E> c)
+    {
+        while (i < hi1 && j < hi2)
+        {
+            if (c.compare(a[i].getElement(), a[j].getElement()) <= 0) out[k++] = a[i++];
+            else out[k++] = a[j++];
+        }
+        while (i < hi1) out[k++] = a[i++];
+        while (j < hi2) out[k++] = a[j++];
+    }
+
+    // O(log n), first index in a[lo, hi) whose element is > key (upper) or >= key (lower)
+    private static <E> int search(Position<E>[] a, int lo, int hi, E key, boolean upper, Comparator<? super E> c)
+    {
+        while (lo < hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int cmp = c.compare(a[mid].getElement(), key);
+            if (cmp < 0 || upper && cmp == 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Stable adaptive sort in the style of TimSort. Ascending and strictly descending runs are
+     * found in one pass (descending ones are reversed), short runs are extended by binary
+     * insertion, and runs are merged with galloping. Sorted, reversed and nearly sorted lists
+     * sort in close to linear time. Nodes are relinked at the end, so positions stay valid.
+     */
+    public void adaptiveSort(LinkedPositionalList<E> S) { adaptiveSort(S, Comparator.naturalOrder()); }
+
+    public static <E> void adaptiveSort(LinkedPositionalList<E> S, Comparator<? super E> c)
+    {
+        if (S.size() < 2) return;
+        Position<E>[] a = S.positionArray();
+        new RunMerger<E>(a, c).sort();
+        S.relink(a);
+    }
+
+    private static class RunMerger<E>
+    {
+        private static final int MIN_MERGE = 32;
+        private static final int MIN_GALLOP = 7;
+
+        private final Position<E>[] a;
+        private final Comparator<? super E> c;
+        private Position<E>[] tmp = (Position<E>[]) new Position[0];
+        private int minGallop = MIN_GALLOP;
+
+        // pending runs, the stack depth is bounded by the Fibonacci-like length invariant
+        private final int[] runBase = new int[49];
+        private final int[] runLen = new int[49];
+        private int stackSize = 0;
+
+        RunMerger(Position<E>[] a, Comparator<? super E> c) {
+            this.a = a;
+            this.c = c;
+        }
+
+        private int compare(Position<E> x, Position<E> y) { return c.compare(x.getElement(), y.getElement()); }
+
+        void sort()
+        {
+            int lo = 0;
+            int remaining = a.length;
+            int minRun = minRunLength(remaining);
+            while (remaining != 0)
+            {
+                int len = countRunAndMakeAscending(lo, a.length);
+                if (len < minRun) {
+                    int force = Math.min(remaining, minRun);
+                    binaryInsertionSort(lo, lo + force, lo + len);
+                    len = force;
+                }
+                runBase[stackSize] = lo;
+                runLen[stackSize] = len;
+                stackSize++;
+                mergeCollapse();
+                lo += len;
+                remaining -= len;
+            }
+            while (stackSize > 1)
+            {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] < runLen[n + 1]) n--;
+                mergeAt(n);
+            }
+        }
+
+        // O(1), runs shorter than this are extended by insertion so the number of runs is close to a power of two
+        private static int minRunLength(int n)
+        {
+            int r = 0;
+            while (n >= MIN_MERGE) {
+                r |= (n & 1);
+                n >>= 1;
+            }
+            return n + r;
+        }
+
+        // O(run length), a strictly descending run is reversed so stability is kept
+        private int countRunAndMakeAscending(int lo, int hi)
+        {
+            int runHi = lo + 1;
+            if (runHi == hi) return 1;
+            if (compare(a[runHi++], a[lo]) < 0) {
+                while (runHi < hi && compare(a[runHi], a[runHi - 1]) < 0) runHi++;
+                for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                    Position<E> t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            }
+            else {
+                while (runHi < hi && compare(a[runHi], a[runHi - 1]) >= 0) runHi++;
+            }
+            return runHi - lo;
+        }
+
+        // O(k log k) comparisons, a[lo, start) is already sorted
+        private void binaryInsertionSort(int lo, int hi, int start)
+        {
+            for (int i = start; i < hi; i++)
+            {
+                Position<E> pivot = a[i];
+                int left = lo + gallop(pivot.getElement(), a, lo, i - lo, true);
+                System.arraycopy(a, left, a, left + 1, i - left);
+                a[left] = pivot;
+            }
+        }
+
+        // keeps runLen[i-2] > runLen[i-1] + runLen[i] and runLen[i-1] > runLen[i] for the whole stack
+        private void mergeCollapse()
+        {
+            while (stackSize > 1)
+            {
+                int n = stackSize - 2;
+                if (n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]
+                        || n > 1 && runLen[n - 2] <= runLen[n] + runLen[n - 1]) {
+                    if (runLen[n - 1] < runLen[n + 1]) n--;
+                }
+                else if (runLen[n] > runLen[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        private void mergeAt(int i)
+        {
+            int base1 = runBase[i], len1 = runLen[i];
+            int base2 = runBase[i + 1], len2 = runLen[i + 1];
+            runLen[i] = len1 + len2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLen[i + 1] = runLen[i + 2];
+            }
+            stackSize--;
+
+            // elements of run1 not greater than run2's head, and of run2 not less than run1's tail, are already in place
+            int k = gallop(a[base2].getElement(), a, base1, len1, true);
+            base1 += k;
+            len1 -= k;
+            if (len1 == 0) return;
+            len2 = gallop(a[base1 + len1 - 1].getElement(), a, base2, len2, false);
+            if (len2 == 0) return;
+
+            mergeLo(base1, len1, base2, len2);
+        }
+
+        // O(len1 + len2), copies run1 aside and merges forward, galloping when one run keeps winning
+        private void mergeLo(int base1, int len1, int base2, int len2)
+        {
+            if (tmp.length < len1)
+                tmp = (Position<E>[]) new Position[Math.max(len1, Math.min(a.length, tmp.length * 2))];
+            System.arraycopy(a, base1, tmp, 0, len1);
+
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+            int minG = minGallop;
+            outer:
+            while (true)
+            {
+                int count1 = 0, count2 = 0;
+                do {
+                    if (compare(a[cursor2], tmp[cursor1]) < 0) {
+                        a[dest++] = a[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) break outer;
+                    }
+                    else {
+                        a[dest++] = tmp[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) break outer;
+                    }
+                } while ((count1 | count2) < minG);
+
+                do {
+                    count1 = gallop(a[cursor2].getElement(), tmp, cursor1, len1, true);
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 == 0) break outer;
+                    a[dest++] = a[cursor2++];
+                    if (--len2 == 0) break outer;
+
+                    count2 = gallop(tmp[cursor1].getElement(), a, cursor2, len2, false);
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) break outer;
+                    a[dest++] = tmp[cursor1++];
+                    if (--len1 == 0) break outer;
+                    minG--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+                if (minG < 0) minG = 0;
+                minG += 2;
+            }
+            minGallop = Math.max(1, minG);
+
+            // what is left of run2 is already in place
+            if (len1 > 0) System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+
+        /**
+         * O(log k) comparisons for an answer of k. Number of leading elements of arr[base, base+len)
+         * that go before key: those <= key when right is true, those < key otherwise.
+         */
+        private int gallop(E key, Position<E>[] arr, int base, int len, boolean right)
+        {
+            int lo = 0, hi = 1;
+            while (hi <= len && goesBefore(arr[base + hi - 1], key, right))
+            {
+                lo = hi;
+                hi = (hi << 1) + 1;
+                if (hi <= 0) hi = len + 1;
+            }
+            hi = Math.min(hi - 1, len);
+            while (lo < hi)
+            {
+                int mid = (lo + hi) >>> 1;
+                if (goesBefore(arr[base + mid], key, right)) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        private boolean goesBefore(Position<E> p, E key, boolean right)
+        {
+            int cmp = c.compare(p.getElement(), key);
+            return right ? cmp <= 0 : cmp < 0;
+        }
+    }
+
+    /**
+     * Stable sort by an int key. Every key is extracted once into an int[] and only the
+     * index permutation is sorted, so the merge loop compares primitives and never unboxes.
+     */
+    public static <E> void sortByInt(LinkedPositionalList<E> S, ToIntFunction<? super E> key)
+    {
+        int n = S.size();
+        if (n < 2) return;
+        Position<E>[] a = S.positionArray();
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = key.applyAsInt(a[i].getElement());
+        S.relink(a, stableOrder(n, (i, j) -> Integer.compare(keys[i], keys[j])));
+    }
+
+    // Stable sort by a long key, see sortByInt
+    public static <E> void sortByLong(LinkedPositionalList<E> S, ToLongFunction<? super E> key)
+    {
+        int n = S.size();
+        if (n < 2) return;
+        Position<E>[] a = S.positionArray();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = key.applyAsLong(a[i].getElement());
+        S.relink(a, stableOrder(n, (i, j) -> Long.compare(keys[i], keys[j])));
+    }
+
+    /**
+     * O(n log n), the indices 0..n-1 in stable order by compare, which compares the keys
+     * at two indices. Insertion-sorts runs of INSERTION_RUN, then merges them bottom-up.
+     */
+    private static int[] stableOrder(int n, IntBinaryOperator compare)
+    {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        for (int lo = 0; lo < n; lo += INSERTION_RUN)
+        {
+            int hi = Math.min(lo + INSERTION_RUN, n);
+            for (int i = lo + 1; i < hi; i++)
+            {
+                int k = order[i];
+                int j = i - 1;
+                for (; j >= lo && compare.applyAsInt(order[j], k) > 0; j--)
+                    order[j + 1] = order[j];
+                order[j + 1] = k;
+            }
+        }
+
+        int[] buf = new int[n];
+        for (int width = INSERTION_RUN; width < n; width *= 2)
+        {
+            for (int lo = 0; lo < n; lo += 2 * width)
+            {
+                int mid = Math.min(lo + width, n), hi = Math.min(lo + 2 * width, n);
+                if (mid == hi || compare.applyAsInt(order[mid - 1], order[mid]) <= 0) {
+                    System.arraycopy(order, lo, buf, lo, hi - lo);      // already in order
+                    continue;
+                }
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi)
+                    buf[k++] = (compare.applyAsInt(order[i], order[j]) <= 0) ? order[i++] : order[j++];
+                System.arraycopy(order, i, buf, k, mid - i);
+                System.arraycopy(order, j, buf, k + mid - i, hi - j);
+            }
+            int[] t = order; order = buf; buf = t;
+        }
+        return order;
+    }
+
+    public Iterator<E> sortedIterator(PositionalList<E> S) { return sortedIterator(S, Comparator.naturalOrder()); }
+
+    /**
+     * Lazy stable sort: the elements of S are copied and heapified in O(n), and each
+     * call to next takes the smallest remaining one in O(log n), so the first k elements
+     * cost O(n + k log n) and the rest is never sorted unless it is asked for.
+     * Later changes to S do not show up in the iterator.
+     */
+    public static <E> Iterator<E> sortedIterator(PositionalList<E> S, Comparator<? super E> c)
+    {
+        return new HeapIterator<>(S, c);
+    }
+
+    // min-heap of indices into a snapshot of S, equal elements ordered by index
+    private static class HeapIterator<E> implements Iterator<E>
+    {
+        private final Object[] elements;
+        private final int[] heap;
+        private final Comparator<? super E> c;
+        private int n;
+
+        HeapIterator(PositionalList<E> S, Comparator<? super E> c)
+        {
+            this.c = c;
+            elements = new Object[S.size()];
+            int i = 0;
+            for (E e : S) elements[i++] = e;
+            n = elements.length;
+            heap = new int[n];
+            for (i = 0; i < n; i++) heap[i] = i;
+            for (i = n / 2 - 1; i >= 0; i--) siftDown(i);
+        }
+
+        private boolean less(int a, int b)
+        {
+            int order = c.compare((E) elements[a], (E) elements[b]);
+            return order < 0 || order == 0 && a < b;
+        }
+
+        private void siftDown(int i)
+        {
+            int top = heap[i];
+            while (2 * i + 1 < n)
+            {
+                int child = 2 * i + 1;
+                if (child + 1 < n && less(heap[child + 1], heap[child])) child++;
+                if (!less(heap[child], top)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = top;
+        }
+
+        // O(1)
+        public boolean hasNext() { return n > 0; }
+
+        // O(log n)
+        public E next() throws NoSuchElementException
+        {
+            if (n == 0) throw new NoSuchElementException("nothing left");
+            int smallest = heap[0];
+            heap[0] = heap[--n];
+            if (n > 0) siftDown(0);
+            E answer = (E) elements[smallest];
+            elements[smallest] = null;
+            return answer;
+        }
+    }
+
+    public LinkedPositionalList<E> topK(PositionalList<E> S, int k) throws IllegalArgumentException
+    {
+        return topK(S, k, Comparator.naturalOrder());
+    }
+
+    /**
+     * The k smallest elements of S in sorted order, ties kept in list order, in a new list.
+     * One pass with a bounded max-heap: O(n log k) time and O(k) extra space, and S is unchanged.
+     */
+    public static <E> LinkedPositionalList<E> topK(PositionalList<E> S, int k, Comparator<? super E> c)
+            throws IllegalArgumentException
+    {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+        k = Math.min(k, S.size());
+        Object[] heap = new Object[k];      // max-heap; of equal elements the later one sits higher
+        int[] order = new int[k];           // list index of each heap entry
+        int n = 0, index = 0;
+        for (E e : S)
+        {
+            if (n < k) {
+                int i = n++;
+                while (i > 0 && c.compare((E) heap[(i - 1) / 2], e) <= 0) {
+                    heap[i] = heap[(i - 1) / 2];
+                    order[i] = order[(i - 1) / 2];
+                    i = (i - 1) / 2;
+                }
+                heap[i] = e;
+                order[i] = index;
+            }
+            else if (k > 0 && c.compare(e, (E) heap[0]) < 0) {
+                int i = 0;
+                while (2 * i + 1 < k)
+                {
+                    int child = 2 * i + 1;
+                    if (child + 1 < k && larger(heap, order, child + 1, child, c)) child++;
+                    if (c.compare((E) heap[child], e) <= 0) break;     // e is the latest, so it goes below ties
+                    heap[i] = heap[child];
+                    order[i] = order[child];
+                    i = child;
+                }
+                heap[i] = e;
+                order[i] = index;
+            }
+            index++;
+        }
+
+        LinkedPositionalList<E> answer = new LinkedPositionalList<>();
+        while (n > 0)
+        {
+            answer.addFirst((E) heap[0]);
+            E last = (E) heap[--n];
+            int lastOrder = order[n];
+            int i = 0;
+            while (2 * i + 1 < n)
+            {
+                int child = 2 * i + 1;
+                if (child + 1 < n && larger(heap, order, child + 1, child, c)) child++;
+                int cmp = c.compare((E) heap[child], last);
+                if (cmp < 0 || cmp == 0 && order[child] < lastOrder) break;
+                heap[i] = heap[child];
+                order[i] = order[child];
+                i = child;
+            }
+            heap[i] = last;
+            order[i] = lastOrder;
+        }
+        return answer;
+    }
+
+    // heap[a] comes after heap[b] in sorted order, by element and then by list index
+    private static <E> boolean larger(Object[] heap, int[] order, int a, int b, Comparator<? super E> c)
+    {
+        int cmp = c.compare((E) heap[a], (E) heap[b]);
+        return cmp > 0 || cmp == 0 && order[a] > order[b];
+    }
+
     public static void main(String[] args) {
         LinkedPositionalList<Integer> list = new LinkedPositionalList<>();
 
@@ -265,5 +1204,74 @@ public class PositionalMergeSort<E extends Comparable<E>>
         sorter.mergeSort(list);
 
         System.out.println(list);
+
+        LinkedPositionalList<Integer> inPlace = new LinkedPositionalList<>();
+        Position<Integer> fifty = null;
+        for (int i = 70; i > 30; i-=2) {
+            Position<Integer> p = inPlace.addLast(i);
+            if (i == 50) fifty = p;
+        }
+
+        sorter.mergeSortInPlace(inPlace);
+
+        System.out.println(inPlace);
+        System.out.println("Still valid: " + fifty.getElement() + ", after it: " + inPlace.after(fifty).getElement());
+
+        Random random = new Random(42);
+        LinkedPositionalList<Integer> sequential = new LinkedPositionalList<>();
+        LinkedPositionalList<Integer> parallel = new LinkedPositionalList<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            int value = random.nextInt(1000);
+            sequential.addLast(value);
+            parallel.addLast(value);
+        }
+
+        long startTime = System.nanoTime();
+        sorter.mergeSort(sequential);
+        long sequentialTime = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        sorter.parallelMergeSort(parallel);
+        long parallelTime = System.nanoTime() - startTime;
+
+        System.out.println("Sequential: " + sequentialTime);
+        System.out.println("Parallel:   " + parallelTime);
+        System.out.println("Same order: " + sequential.toString().equals(parallel.toString()));
+
+        LinkedPositionalList<String> words = new LinkedPositionalList<>();
+        for (String word : "the quick brown fox jumps over the lazy dog".split(" "))
+            words.addLast(word);
+
+        PositionalMergeSort.mergeSort(words, Comparator.reverseOrder());
+        System.out.println(words);
+
+        PositionalMergeSort.sortByInt(words, String::length);
+        System.out.println(words);
+
+        // a sliding window over a pooled list reuses the same 64 nodes after the first pass
+        LinkedPositionalList<Integer> window = new LinkedPositionalList<>(64);
+        Position<Integer> oldest = window.addLast(0);
+        for (int i = 1; i < 1000; i++) {
+            window.addLast(i);
+            if (window.size() > 64) window.remove(window.first());
+        }
+        System.out.print("Window " + window.first().getElement() + ".." + window.last().getElement());
+        try {
+            window.remove(oldest);
+        }
+        catch (IllegalArgumentException e) {
+            System.out.println(", stale handle to 0 rejected although its node was reused");
+        }
+
+        // the first page of a sorted million, without sorting the rest
+        LinkedPositionalList<Integer> unsorted = new LinkedPositionalList<>();
+        for (int i = 0; i < 1_000_000; i++)
+            unsorted.addLast(random.nextInt(100_000_000));
+        startTime = System.nanoTime();
+        Iterator<Integer> page = sorter.sortedIterator(unsorted);
+        StringBuilder firstPage = new StringBuilder();
+        for (int i = 0; i < 10 && page.hasNext(); i++) firstPage.append(page.next()).append(' ');
+        System.out.println("First page: " + firstPage + "in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+        System.out.println("Top 5 words: " + PositionalMergeSort.topK(words, 5, Comparator.naturalOrder()));
     }
 }
@@ -0,0 +1,88 @@
+import java.util.Random;
+
+public class PositionalSortBenchmark
+{
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    interface Sorter {
+        void sort(LinkedPositionalList<Integer> S);
+    }
+
+    // values in the given distribution, nearly sorted means 1% of the elements swapped at random
+    static int[] values(String distribution, int n, Random random)
+    {
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++)
+            values[i] = i;
+
+        switch (distribution) {
+            case "random":
+                for (int i = n - 1; i > 0; i--)
+                    swap(values, i, random.nextInt(i + 1));
+                break;
+            case "reversed":
+                for (int i = 0; i < n; i++)
+                    values[i] = n - i;
+                break;
+            case "nearly sorted":
+                for (int k = 0; k < n / 100; k++)
+                    swap(values, random.nextInt(n), random.nextInt(n));
+                break;
+            default:
+                break;
+        }
+        return values;
+    }
+
+    private static void swap(int[] values, int i, int j)
+    {
+        int t = values[i];
+        values[i] = values[j];
+        values[j] = t;
+    }
+
+    static LinkedPositionalList<Integer> listOf(int[] values)
+    {
+        LinkedPositionalList<Integer> list = new LinkedPositionalList<>();
+        for (int value : values)
+            list.addLast(value);
+        return list;
+    }
+
+    // best of the measured rounds, in milliseconds, after a few warm-up rounds
+    static double time(Sorter sorter, int[] values)
+    {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++)
+        {
+            LinkedPositionalList<Integer> list = listOf(values);
+            long startTime = System.nanoTime();
+            sorter.sort(list);
+            long elapsed = System.nanoTime() - startTime;
+            if (round >= WARMUP_ROUNDS)
+                best = Math.min(best, elapsed);
+        }
+        return best / 1e6;
+    }
+
+    public static void main(String[] args)
+    {
+        PositionalMergeSort<Integer> sorter = new PositionalMergeSort<>();
+        String[] distributions = {"random", "sorted", "reversed", "nearly sorted"};
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        Random random = new Random(42);
+
+        System.out.printf("%-14s %10s %14s %14s%n", "distribution", "n", "mergeSort ms", "adaptive ms");
+        for (int n : sizes)
+        {
+            for (String distribution : distributions)
+            {
+                int[] values = values(distribution, n, random);
+                double mergeTime = time(sorter::mergeSort, values);
+                double adaptiveTime = time(sorter::adaptiveSort, values);
+                System.out.printf("%-14s %10d %14.2f %14.2f%n", distribution, n, mergeTime, adaptiveTime);
+            }
+        }
+    }
+}
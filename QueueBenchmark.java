@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+public class QueueBenchmark
+{
+    private static final int CAPACITY = 1024;
+    private static final int MESSAGES = 2_000_000;
+    private static final int ROUND_TRIPS = 100_000;
+    private static final int SHARED_MESSAGES = 1_000_000;
+    private static final int BATCH = 32;
+
+    // the non-blocking operations every benchmarked queue offers
+    interface Channel<E> {
+        boolean offer(E e);
+        E poll();
+    }
+
+    static Channel<Integer> spsc()
+    {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(CAPACITY);
+        return new Channel<Integer>() {
+            public boolean offer(Integer e) { return queue.offer(e); }
+            public Integer poll() { return queue.dequeue(); }
+        };
+    }
+
+    static Channel<Integer> mpmc()
+    {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(CAPACITY);
+        return new Channel<Integer>() {
+            public boolean offer(Integer e) { return queue.offer(e); }
+            public Integer poll() { return queue.dequeue(); }
+        };
+    }
+
+    static Channel<Integer> synchronizedArrayQueue()
+    {
+        ArrayQueue<Integer> queue = new ArrayQueue<>(CAPACITY);
+        return new Channel<Integer>() {
+            public synchronized boolean offer(Integer e) {
+                if (queue.size() == queue.capacity()) return false;
+                queue.enqueue(e);
+                return true;
+            }
+            public synchronized Integer poll() { return queue.dequeue(); }
+        };
+    }
+
+    static Channel<Integer> arrayBlockingQueue()
+    {
+        ArrayBlockingQueue<Integer> queue = new ArrayBlockingQueue<>(CAPACITY);
+        return new Channel<Integer>() {
+            public boolean offer(Integer e) { return queue.offer(e); }
+            public Integer poll() { return queue.poll(); }
+        };
+    }
+
+    private static void send(Channel<Integer> channel, Integer value)
+    {
+        while (!channel.offer(value)) Thread.yield();
+    }
+
+    private static Integer receive(Channel<Integer> channel)
+    {
+        Integer value;
+        while ((value = channel.poll()) == null) Thread.yield();
+        return value;
+    }
+
+    // messages per second from one producer thread to one consumer thread
+    static double throughput(Channel<Integer> channel) throws InterruptedException
+    {
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < MESSAGES; i++)
+                send(channel, i);
+        });
+
+        long startTime = System.nanoTime();
+        producer.start();
+        for (int i = 0; i < MESSAGES; i++)
+            receive(channel);
+        producer.join();
+        long elapsed = System.nanoTime() - startTime;
+
+        return MESSAGES * 1e9 / elapsed;
+    }
+
+    // round-trip times in nanoseconds through a pair of channels and an echo thread, sorted
+    static long[] roundTrips(Channel<Integer> ping, Channel<Integer> pong) throws InterruptedException
+    {
+        Thread echo = new Thread(() -> {
+            for (int i = 0; i < ROUND_TRIPS; i++)
+                send(pong, receive(ping));
+        });
+        echo.start();
+
+        long[] times = new long[ROUND_TRIPS];
+        for (int i = 0; i < ROUND_TRIPS; i++)
+        {
+            long startTime = System.nanoTime();
+            send(ping, i);
+            receive(pong);
+            times[i] = System.nanoTime() - startTime;
+        }
+        echo.join();
+
+        Arrays.sort(times);
+        return times;
+    }
+
+    interface Factory {
+        Channel<Integer> create();
+    }
+
+    static void report(String name, Factory factory) throws InterruptedException
+    {
+        throughput(factory.create());    // warm-up
+        double perSecond = throughput(factory.create());
+
+        roundTrips(factory.create(), factory.create());    // warm-up
+        long[] times = roundTrips(factory.create(), factory.create());
+
+        System.out.printf("%-24s %14.0f %10d %10d %10d%n", name, perSecond,
+                times[times.length / 2], times[(int) (times.length * 0.99)], times[times.length - 1]);
+    }
+
+    // messages per second with the given number of producer and consumer threads each
+    static double sharedThroughput(Channel<Integer> channel, int pairs) throws InterruptedException
+    {
+        int perThread = SHARED_MESSAGES / pairs;
+        Thread[] threads = new Thread[2 * pairs];
+        for (int p = 0; p < pairs; p++)
+        {
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                    send(channel, i);
+            });
+            threads[pairs + p] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                    receive(channel);
+            });
+        }
+        return run(threads, perThread * pairs);
+    }
+
+    // the same with MpmcArrayQueue moving BATCH elements per claim through offerAll and drainTo
+    static double batchedThroughput(int pairs) throws InterruptedException
+    {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(CAPACITY);
+        int perThread = SHARED_MESSAGES / pairs;
+        Thread[] threads = new Thread[2 * pairs];
+        for (int p = 0; p < pairs; p++)
+        {
+            threads[p] = new Thread(() -> {
+                Integer[] chunk = new Integer[BATCH];
+                for (int i = 0; i < perThread; i += BATCH)
+                {
+                    int n = Math.min(BATCH, perThread - i);
+                    for (int k = 0; k < n; k++)
+                        chunk[k] = i + k;
+                    for (int sent = 0; sent < n; )
+                    {
+                        int moved = queue.offerAll(chunk, sent, n);
+                        if (moved == 0) Thread.yield();
+                        sent += moved;
+                    }
+                }
+            });
+            threads[pairs + p] = new Thread(() -> {
+                int[] received = {0};
+                while (received[0] < perThread)
+                {
+                    if (queue.drainTo(e -> received[0]++, Math.min(BATCH, perThread - received[0])) == 0)
+                        Thread.yield();
+                }
+            });
+        }
+        return run(threads, perThread * pairs);
+    }
+
+    private static double run(Thread[] threads, long messages) throws InterruptedException
+    {
+        long startTime = System.nanoTime();
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+        return messages * 1e9 / (System.nanoTime() - startTime);
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        System.out.printf("%-24s %14s %10s %10s %10s%n", "queue", "msgs/s", "p50 ns", "p99 ns", "max ns");
+        report("SpscArrayQueue", QueueBenchmark::spsc);
+        report("synchronized ArrayQueue", QueueBenchmark::synchronizedArrayQueue);
+        report("ArrayBlockingQueue", QueueBenchmark::arrayBlockingQueue);
+        report("MpmcArrayQueue", QueueBenchmark::mpmc);
+        System.out.println();
+
+        System.out.printf("%8s %16s %16s %16s %16s%n", "threads", "Mpmc msgs/s", "Mpmc batched", "ABQ msgs/s", "sync ArrayQueue");
+        for (int pairs = 1; pairs <= 16; pairs *= 2)
+        {
+            sharedThroughput(mpmc(), pairs);    // warm-up
+            double mpmc = sharedThroughput(mpmc(), pairs);
+            batchedThroughput(pairs);
+            double batched = batchedThroughput(pairs);
+            double blocking = sharedThroughput(arrayBlockingQueue(), pairs);
+            double locked = sharedThroughput(synchronizedArrayQueue(), pairs);
+            System.out.printf("%8d %16.0f %16.0f %16.0f %16.0f%n", 2 * pairs, mpmc, batched, blocking, locked);
+        }
+    }
+}
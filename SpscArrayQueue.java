@@ -0,0 +1,149 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Padding keeps the producer's and the consumer's fields on separate cache lines.
+// HotSpot lays out superclass fields first, so each layer sits between two pads.
+abstract class SpscLeftPad {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscLeftPad {
+    long tail;          // next slot to write, written only by the producer
+    long headCache;     // producer's last view of head
+}
+
+abstract class SpscMiddlePad extends SpscProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscMiddlePad {
+    long head;          // next slot to read, written only by the consumer
+    long tailCache;     // consumer's last view of tail
+}
+
+abstract class SpscRightPad extends SpscConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread,
+ * on the same power-of-two ring as ArrayQueue. The producer publishes a slot with a
+ * release store of tail and the consumer frees it with a release store of head; each
+ * side reads the other's index with an acquire load only when its cached copy says
+ * the ring is full or empty.
+ *
+ * enqueue, offer may only be called by the producer; dequeue, first by the consumer.
+ */
+public class SpscArrayQueue<E> extends SpscRightPad implements Queue<E>
+{
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscConsumerFields.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final E[] values;
+    private final int mask;
+
+    public SpscArrayQueue() { this(ArrayQueue.CAPACITY); }
+
+    public SpscArrayQueue(int capacity) throws IllegalArgumentException
+    {
+        if (capacity < 1 || capacity > ArrayQueue.MAX_CAPACITY)
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        int length = (capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        values = (E[]) new Object[length];
+        mask = length - 1;
+    }
+
+    // O(1), exact when called by either side while the other is idle, a snapshot otherwise
+    public int size()
+    {
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(t - h, values.length));
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    public int capacity() { return values.length; }
+
+    // O(1), producer only
+    public void enqueue(E e) throws IllegalStateException
+    {
+        if (!offer(e)) throw new IllegalStateException("Queue is full");
+    }
+
+    // O(1), producer only, false when the queue is full
+    public boolean offer(E e) throws IllegalArgumentException
+    {
+        if (e == null) throw new IllegalArgumentException("null elements are not allowed");
+        long t = tail;
+        if (t - headCache >= values.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (t - headCache >= values.length) return false;
+        }
+        values[(int) t & mask] = e;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    // O(1), consumer only
+    public E first()
+    {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) return null;
+        }
+        return values[(int) h & mask];
+    }
+
+    // O(1), consumer only, null when the queue is empty
+    public E dequeue()
+    {
+        long h = head;
+        if (h >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (h >= tailCache) return null;
+        }
+        int i = (int) h & mask;
+        E answer = values[i];
+        values[i] = null;
+        HEAD.setRelease(this, h + 1);
+        return answer;
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        SpscArrayQueue<Integer> queue = new SpscArrayQueue<>(64);
+        int n = 1_000_000;
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < n; i++)
+                while (!queue.offer(i)) Thread.yield();
+        });
+        producer.start();
+
+        long sum = 0;
+        for (int received = 0; received < n; )
+        {
+            Integer value = queue.dequeue();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            sum += value;
+            received++;
+        }
+        producer.join();
+
+        System.out.println("Sum: " + sum + ", expected: " + (long) n * (n - 1) / 2);
+    }
+}
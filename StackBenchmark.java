@@ -0,0 +1,62 @@
+public class StackBenchmark
+{
+    private static final int OPERATIONS = 2_000_000;
+
+    interface Factory {
+        Stack<Integer> create();
+    }
+
+    // every operation of LinkedStack behind one lock, as callers share it today
+    static Stack<Integer> synchronizedLinkedStack()
+    {
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        return new Stack<Integer>() {
+            public synchronized int size() { return stack.size(); }
+            public synchronized boolean isEmpty() { return stack.isEmpty(); }
+            public synchronized void push(Integer e) { stack.push(e); }
+            public synchronized Integer top() { return stack.top(); }
+            public synchronized Integer pop() { return stack.pop(); }
+        };
+    }
+
+    // push/pop pairs per second with the given number of threads sharing one stack
+    static double throughput(Stack<Integer> stack, int threads) throws InterruptedException
+    {
+        int perThread = OPERATIONS / threads;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++)
+        {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                {
+                    stack.push(i);
+                    stack.pop();
+                }
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread worker : workers) worker.start();
+        for (Thread worker : workers) worker.join();
+        return (long) perThread * threads * 1e9 / (System.nanoTime() - startTime);
+    }
+
+    static double best(Factory factory, int threads) throws InterruptedException
+    {
+        double best = 0;
+        for (int round = 0; round < 3; round++)
+            best = Math.max(best, throughput(factory.create(), threads));
+        return best;
+    }
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        System.out.printf("%8s %22s %22s%n", "threads", "ConcurrentLinkedStack", "synchronized Linked");
+        for (int threads = 1; threads <= 32; threads *= 2)
+        {
+            double lockFree = best(ConcurrentLinkedStack::new, threads);
+            double locked = best(StackBenchmark::synchronizedLinkedStack, threads);
+            System.out.printf("%8d %22.0f %22.0f%n", threads, lockFree, locked);
+        }
+    }
+}
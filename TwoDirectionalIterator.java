@@ -1,7 +1,58 @@
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 public interface TwoDirectionalIterator<E> extends Iterator<E>
 {
     E previous() throws IllegalStateException;
     boolean hasPrevious();
+
+    // the element next() would return, without moving the cursor
+    default E peek() throws NoSuchElementException
+    {
+        E e = next();
+        previous();
+        return e;
+    }
+
+    // moves the cursor forward by up to n elements, returns how many it moved
+    default int skip(int n)
+    {
+        int k = 0;
+        while (k < n && hasNext()) {
+            next();
+            k++;
+        }
+        return k;
+    }
+
+    // moves the cursor back by up to n elements, returns how many it moved
+    default int skipBack(int n)
+    {
+        int k = 0;
+        while (k < n && hasPrevious()) {
+            previous();
+            k++;
+        }
+        return k;
+    }
+}
+
+// Unboxed cursor over ints, next and previous only box for callers that use the generic API
+interface IntTwoDirectionalIterator extends TwoDirectionalIterator<Integer>
+{
+    int nextInt();
+    int previousInt() throws IllegalStateException;
+
+    default Integer next() { return nextInt(); }
+    default Integer previous() throws IllegalStateException { return previousInt(); }
+}
+
+// Unboxed cursor over longs, next and previous only box for callers that use the generic API
+interface LongTwoDirectionalIterator extends TwoDirectionalIterator<Long>
+{
+    long nextLong();
+    long previousLong() throws IllegalStateException;
+
+    default Long next() { return nextLong(); }
+    default Long previous() throws IllegalStateException { return previousLong(); }
 }
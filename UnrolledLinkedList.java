@@ -0,0 +1,191 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Doubly linked list that stores up to CHUNK elements per node, with the same
+ * deque API as DoublyLinkedList. Each node keeps its elements in items[lo, hi),
+ * so the first node grows towards index 0 and the last one towards CHUNK.
+ * One node header and two links are shared by a whole chunk, and iteration
+ * reads consecutive array slots instead of chasing a pointer per element.
+ */
+public class UnrolledLinkedList<E> implements Iterable<E>
+{
+    public static final int CHUNK = 32;
+
+    private static class Node<E> {
+        private final Object[] items;
+        private int lo;                  // index of the first element in items
+        private int hi;                  // index after the last element in items
+        private Node<E> prev;
+        private Node<E> next;
+        public Node(int capacity, int start, Node<E> p, Node<E> n) {
+            items = new Object[capacity];
+            lo = start;
+            hi = start;
+            prev = p;
+            next = n;
+        }
+        public int count() { return hi - lo; }
+        public Node<E> getPrev() { return prev; }
+        public Node<E> getNext() { return next; }
+        public void setPrev(Node<E> p) { prev = p; }
+        public void setNext(Node<E> n) { next = n; }
+    }
+
+    private Node<E> header;
+
+    private Node<E> trailer;
+
+    private int size = 0;
+
+    public UnrolledLinkedList()
+    {
+        header = new Node<>(0, 0, null, null);
+        trailer = new Node<>(0, 0, header, null);
+        header.setNext(trailer);
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    // O(1)
+    public E first() {
+        if (isEmpty()) return null;
+        Node<E> node = header.getNext();
+        return (E) node.items[node.lo];
+    }
+
+    // O(1)
+    public E last() {
+        if (isEmpty()) return null;
+        Node<E> node = trailer.getPrev();
+        return (E) node.items[node.hi - 1];
+    }
+
+    // O(1), a new chunk is filled from its end so further addFirst calls reuse it
+    public void addFirst(E e) {
+        Node<E> node = header.getNext();
+        if (node == trailer || node.lo == 0)
+            node = addBetween(CHUNK, header, node);
+        node.items[--node.lo] = e;
+        size++;
+    }
+
+    // O(1), a new chunk is filled from its start so further addLast calls reuse it
+    public void addLast(E e) {
+        Node<E> node = trailer.getPrev();
+        if (node == header || node.hi == CHUNK)
+            node = addBetween(0, node, trailer);
+        node.items[node.hi++] = e;
+        size++;
+    }
+
+    // O(1)
+    public E removeFirst() {
+        if (isEmpty()) return null;
+        Node<E> node = header.getNext();
+        E answer = (E) node.items[node.lo];
+        node.items[node.lo++] = null;
+        size--;
+        if (node.count() == 0) remove(node);
+        return answer;
+    }
+
+    // O(1)
+    public E removeLast() {
+        if (isEmpty()) return null;
+        Node<E> node = trailer.getPrev();
+        E answer = (E) node.items[--node.hi];
+        node.items[node.hi] = null;
+        size--;
+        if (node.count() == 0) remove(node);
+        return answer;
+    }
+
+    private Node<E> addBetween(int start, Node<E> predecessor, Node<E> successor)
+    {
+        Node<E> newest = new Node<>(CHUNK, start, predecessor, successor);
+        predecessor.setNext(newest);
+        successor.setPrev(newest);
+        return newest;
+    }
+
+    private void remove(Node<E> node)
+    {
+        Node<E> predecessor = node.getPrev();
+        Node<E> successor = node.getNext();
+        predecessor.setNext(successor);
+        successor.setPrev(predecessor);
+    }
+
+    private class ChunkIterator implements Iterator<E>
+    {
+        private Node<E> node = header.getNext();
+        private int j = node.lo;
+
+        // O(1)
+        public boolean hasNext() { return node != trailer; }
+
+        // O(1)
+        public E next()
+        {
+            if (node == trailer) throw new NoSuchElementException("nothing left");
+            E answer = (E) node.items[j++];
+            if (j == node.hi) {
+                node = node.getNext();
+                j = node.lo;
+            }
+            return answer;
+        }
+    }
+
+    public Iterator<E> iterator() { return new ChunkIterator(); }
+
+    // SIZED and SUBSIZED, splits by copying batches of elements into arrays
+    public Spliterator<E> spliterator() { return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED); }
+
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder("(");
+        for (Iterator<E> it = iterator(); it.hasNext(); )
+        {
+            sb.append(it.next());
+            if (it.hasNext())
+                sb.append(", ");
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    public static void main(String[] args)
+    {
+        UnrolledLinkedList<Integer> small = new UnrolledLinkedList<>();
+        for (int i = 0; i < 5; i++) {
+            small.addLast(i);
+            small.addFirst(-i);
+        }
+        System.out.println(small);
+        System.out.println(small.removeFirst() + " " + small.removeLast() + " " + small);
+
+        int n = 1_000_000;
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) values[i] = i;
+
+        long before = BenchmarkSuite.usedMemory();
+        DoublyLinkedList<Integer> doubly = new DoublyLinkedList<>();
+        for (Integer value : values) doubly.addLast(value);
+        long doublyBytes = BenchmarkSuite.usedMemory() - before;
+
+        before = BenchmarkSuite.usedMemory();
+        UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>();
+        for (Integer value : values) unrolled.addLast(value);
+        long unrolledBytes = BenchmarkSuite.usedMemory() - before;
+
+        System.out.println("DoublyLinkedList bytes per element:   " + doublyBytes / n);
+        System.out.println("UnrolledLinkedList bytes per element: " + unrolledBytes / n);
+        System.out.println(doubly.size() + " " + unrolled.size());
+    }
+}
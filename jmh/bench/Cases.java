@@ -0,0 +1,44 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.LongSupplier;
+
+/**
+ * JMH will not run benchmarks in the default package, and code in a named package cannot
+ * import the default package the data structures live in. So the cases are built by
+ * BenchmarkSuite.prepare, found once through a method handle. The benchmarks call only
+ * the LongSupplier it returns, so nothing reflective runs outside setup.
+ */
+final class Cases
+{
+    private static final MethodHandle PREPARE;
+
+    static {
+        try {
+            Class<?> suite = Class.forName("BenchmarkSuite");
+            PREPARE = MethodHandles.publicLookup().findStatic(suite, "prepare",
+                    MethodType.methodType(LongSupplier.class, String.class, String.class, int.class));
+        }
+        catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Cases() {}
+
+    // see BenchmarkSuite.prepare
+    static LongSupplier prepare(String name, String params, int size)
+    {
+        try {
+            return (LongSupplier) PREPARE.invokeExact(name, params, size);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// LinkedList against ArrayList and IndexableSkipList, the list.* cases of BenchmarkSuite
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Lists
+{
+    // getSequential reads all size elements, the random cases do 1000 reads or add/remove pairs
+    @Param({"getSequential", "getRandom", "addRemoveRandom"})
+    public String operation;
+
+    @Param({"ArrayList", "LinkedList", "IndexableSkipList"})
+    public String list;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private LongSupplier listCase;
+
+    @Setup
+    public void setUp() { listCase = Cases.prepare("list." + operation, list, size); }
+
+    @Benchmark
+    public long run() { return listCase.getAsLong(); }
+}
@@ -0,0 +1,39 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// size enqueues followed by size dequeues per call, the queue.enqueueDequeue cases of BenchmarkSuite
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Queues
+{
+    @Param({"ArrayQueue fixed", "ArrayQueue growable", "IntArrayQueue"})
+    public String queue;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private LongSupplier queueCase;
+
+    @Setup
+    public void setUp() { queueCase = Cases.prepare("queue.enqueueDequeue", queue, size); }
+
+    @Benchmark
+    public long run() { return queueCase.getAsLong(); }
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// one sort of size elements per call, the sort.* cases of BenchmarkSuite
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Sorts
+{
+    @Param({"mergeSort", "mergeSortInPlace", "parallelMergeSort", "adaptiveSort", "sortByInt"})
+    public String sort;
+
+    @Param({"random", "sorted", "reversed", "nearly sorted"})
+    public String distribution;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private LongSupplier sortCase;
+
+    @Setup
+    public void setUp() { sortCase = Cases.prepare("sort." + sort, distribution, size); }
+
+    @Benchmark
+    public long run() { return sortCase.getAsLong(); }
+}
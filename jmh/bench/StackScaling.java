@@ -0,0 +1,57 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Every thread pushes and pops on one shared stack, the lock-free ConcurrentLinkedStack
+ * against LinkedStack behind a lock. JMH takes the thread count from -t, so main runs
+ * the benchmark at 1, 2, 4, ... 32 threads with the GC profiler attached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackScaling
+{
+    @Param({"ConcurrentLinkedStack", "synchronized LinkedStack"})
+    public String stack;
+
+    private LongSupplier shared;
+
+    // 100 push/pop pairs per call
+    @Setup
+    public void setUp() { shared = Cases.prepare("stack.sharedPushPop", stack, 100); }
+
+    @Benchmark
+    public long pushPop() { return shared.getAsLong(); }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        for (int threads = 1; threads <= 32; threads *= 2)
+        {
+            new Runner(new OptionsBuilder()
+                    .include(StackScaling.class.getName() + ".pushPop")
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// size pushes followed by size pops per call, the stack.pushPop cases of BenchmarkSuite
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Stacks
+{
+    @Param({"LinkedStack", "ArrayStack", "IntStack", "ConcurrentLinkedStack"})
+    public String stack;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private LongSupplier stackCase;
+
+    @Setup
+    public void setUp() { stackCase = Cases.prepare("stack.pushPop", stack, size); }
+
+    @Benchmark
+    public long run() { return stackCase.getAsLong(); }
+}